@@ -0,0 +1,80 @@
+package org.easetech.easytest.benchmark;
+
+import java.util.List;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+
+/**
+ * An extension of {@link SpringTestRunner} that makes the protected lifecycle methods of the runner available to the
+ * benchmarks. No behavior is changed.
+ *
+ */
+public class BenchmarkSpringTestRunner extends SpringTestRunner {
+
+    /**
+     * Construct a new BenchmarkSpringTestRunner
+     *
+     * @param clazz the test class
+     * @throws InitializationError if the runner could not be initialized
+     */
+    public BenchmarkSpringTestRunner(Class<?> clazz) throws InitializationError {
+        super(clazz);
+    }
+
+    /**
+     * @return the data rows computed while constructing the runner
+     */
+    public List<FrameworkMethod> rows() {
+        return computeTestMethods();
+    }
+
+    /**
+     * @see SpringTestRunner#computeMethodsForTest()
+     */
+    public List<FrameworkMethod> computeMethods() {
+        return computeMethodsForTest();
+    }
+
+    /**
+     * @see SpringTestRunner#createTest()
+     */
+    public Object newTest() throws Exception {
+        return createTest();
+    }
+
+    /**
+     * Create a test instance that is prepared by Spring but not instrumented
+     *
+     * @return the test instance
+     * @throws Exception if the instance could not be created
+     */
+    public Object newPreparedTest() throws Exception {
+        Object testInstance = getTestInstance();
+        getTestContextManager().prepareTestInstance(testInstance);
+        return testInstance;
+    }
+
+    /**
+     * @see SpringTestRunner#instrumentClass(Class, Object)
+     */
+    public void instrument(Object testInstance) throws Exception {
+        instrumentClass(getTestClass().getJavaClass(), testInstance);
+    }
+
+    /**
+     * @see SpringTestRunner#methodInvoker(FrameworkMethod, Object)
+     */
+    public Statement invoker(FrameworkMethod method, Object testInstance) {
+        return methodInvoker(method, testInstance);
+    }
+
+    /**
+     * @see SpringTestRunner#withAfterClasses(Statement)
+     */
+    public Statement afterClasses(Statement statement) {
+        return withAfterClasses(statement);
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.easetech.easytest.benchmark;
+
+/**
+ * Default implementation of {@link RowAuditor} registered in the Spring context of {@link SyntheticDataDrivenTest}
+ * 
+ */
+public class DefaultRowAuditor implements RowAuditor {
+
+    /**
+     * @see RowAuditor#audit(String)
+     */
+    public boolean audit(String id) {
+        return id != null;
+    }
+
+}
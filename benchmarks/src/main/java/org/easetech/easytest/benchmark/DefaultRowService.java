@@ -0,0 +1,16 @@
+package org.easetech.easytest.benchmark;
+
+/**
+ * Default implementation of {@link RowService} registered in the Spring context of {@link SyntheticDataDrivenTest}
+ * 
+ */
+public class DefaultRowService implements RowService {
+
+    /**
+     * @see RowService#echo(String, String)
+     */
+    public String echo(String id, String value) {
+        return id.concat(":").concat(value);
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.easetech.easytest.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastMethod;
+import org.easetech.easytest.interceptor.DefaultMethodIntercepter;
+import org.easetech.easytest.interceptor.MethodHandleInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the part of a call through a {@link org.easetech.easytest.annotation.Duration} proxy that is timed
+ * and compared to the expected duration : the call of the target method by the proxy. The call made through the
+ * {@link MethodHandleInvoker} by the SpringTestRunner is compared to the reflective call of the
+ * {@link DefaultMethodIntercepter}, to a CGLIB generated invoker and to a direct call.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+IgnoreUnrecognizedVMOptions", "--add-opens=java.base/java.lang=ALL-UNNAMED" })
+@State(Scope.Thread)
+public class DurationProxyBenchmark {
+
+    private RowService rowService;
+
+    private Method echo;
+
+    private Object[] args;
+
+    private DefaultMethodIntercepter defaultIntercepter;
+
+    private MethodHandle invoker;
+
+    private FastMethod fastMethod;
+
+    @Setup
+    public void createInvokers() throws Exception {
+        rowService = new DefaultRowService();
+        echo = RowService.class.getMethod("echo", String.class, String.class);
+        args = new Object[] { "42", "value" };
+        defaultIntercepter = new DefaultMethodIntercepter();
+        invoker = MethodHandleInvoker.getInvoker(echo);
+        fastMethod = FastClass.create(DefaultRowService.class).getMethod(echo);
+    }
+
+    /**
+     * Calling the method directly, the baseline
+     */
+    @Benchmark
+    public Object direct() {
+        return rowService.echo((String) args[0], (String) args[1]);
+    }
+
+    /**
+     * Calling the method with {@link Method#invoke(Object, Object...)}, as the {@link DefaultMethodIntercepter} does
+     */
+    @Benchmark
+    public Object reflective() throws Throwable {
+        return defaultIntercepter.intercept(echo, rowService, args);
+    }
+
+    /**
+     * Calling the method through its cached method handle, as the proxies of the SpringTestRunner do
+     */
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        return MethodHandleInvoker.invoke(invoker, echo, rowService, args);
+    }
+
+    /**
+     * Looking the method handle up and calling the method, that is the whole cost added to a call by the proxies of
+     * the SpringTestRunner, of which only the call is timed
+     */
+    @Benchmark
+    public Object methodHandleLookup() throws Throwable {
+        return MethodHandleInvoker.invoke(MethodHandleInvoker.getInvoker(echo), echo, rowService, args);
+    }
+
+    /**
+     * Calling the method through a CGLIB generated invoker
+     */
+    @Benchmark
+    public Object generated() throws Throwable {
+        return fastMethod.invoke(rowService, args);
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.easetech.easytest.benchmark;
+
+/**
+ * A trivial service interface used by {@link SyntheticDataDrivenTest}. Fields of this type are proxied by the
+ * SpringTestRunner using the Spring ProxyFactory.
+ * 
+ */
+public interface RowAuditor {
+
+    /**
+     * Audit the execution of the given row
+     * 
+     * @param id the id of the row
+     * @return true if the row was audited
+     */
+    boolean audit(String id);
+
+}
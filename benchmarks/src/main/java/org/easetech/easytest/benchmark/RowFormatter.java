@@ -0,0 +1,19 @@
+package org.easetech.easytest.benchmark;
+
+/**
+ * A concrete class without an interface. Fields of this type are proxied by the SpringTestRunner using CGLIB.
+ * 
+ */
+public class RowFormatter {
+
+    /**
+     * Format the given value
+     * 
+     * @param value the value to format
+     * @return the formatted value
+     */
+    public String format(String value) {
+        return "[".concat(value).concat("]");
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.easetech.easytest.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.easetech.easytest.converter.ConverterManager;
+import org.easetech.easytest.util.DataContext;
+import org.junit.runners.model.FrameworkMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the phases of the SpringTestRunner that run once per data row : creating and preparing the test
+ * instance, instrumenting its fields and invoking the test method with the row data.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-XX:+IgnoreUnrecognizedVMOptions",
+    "--add-opens=java.base/java.lang=ALL-UNNAMED" })
+@State(Scope.Thread)
+public class RowLifecycleBenchmark {
+
+    /**
+     * The number of data rows of the synthetic test class
+     */
+    @Param({ "10", "10000", "1000000" })
+    public int rows;
+
+    private SyntheticDataSet dataSet;
+
+    private BenchmarkSpringTestRunner runner;
+
+    private List<FrameworkMethod> methods;
+
+    private SyntheticDataDrivenTest preparedTest;
+
+    private RowService rowService;
+
+    private RowFormatter rowFormatter;
+
+    private RowAuditor rowAuditor;
+
+    private int nextRow;
+
+    @Setup(Level.Trial)
+    public void createRunner() throws Exception {
+        dataSet = new SyntheticDataSet(rows);
+        DataContext.cleanData();
+        runner = new BenchmarkSpringTestRunner(SyntheticDataDrivenTest.class);
+        methods = runner.rows();
+        rowService = new DefaultRowService();
+        rowFormatter = new RowFormatter();
+        rowAuditor = new DefaultRowAuditor();
+        preparedTest = (SyntheticDataDrivenTest) runner.newPreparedTest();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDataSet() {
+        DataContext.cleanData();
+        ConverterManager.cleanConverters();
+        dataSet.delete();
+    }
+
+    private FrameworkMethod nextRow() {
+        if (nextRow == methods.size()) {
+            nextRow = 0;
+        }
+        return methods.get(nextRow++);
+    }
+
+    /**
+     * Creating a new test instance : constructing, configuring, preparing it with Spring and instrumenting it.
+     */
+    @Benchmark
+    public Object createTest() throws Exception {
+        return runner.newTest();
+    }
+
+    /**
+     * Instrumenting the {@link org.easetech.easytest.annotation.Intercept} and
+     * {@link org.easetech.easytest.annotation.Duration} fields of an already prepared test instance
+     */
+    @Benchmark
+    public Object instrumentClass() throws Exception {
+        preparedTest.reset(rowService, rowFormatter, rowAuditor);
+        runner.instrument(preparedTest);
+        return preparedTest;
+    }
+
+    /**
+     * Building and evaluating the statement that invokes the test method with the data of the next row
+     */
+    @Benchmark
+    public void methodInvoker() throws Throwable {
+        preparedTest.reset(rowService, rowFormatter, rowAuditor);
+        runner.invoker(nextRow(), preparedTest).evaluate();
+    }
+
+}
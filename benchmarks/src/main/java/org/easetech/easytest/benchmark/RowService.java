@@ -0,0 +1,19 @@
+package org.easetech.easytest.benchmark;
+
+/**
+ * A trivial service interface used by {@link SyntheticDataDrivenTest}. Fields of this type are proxied by the
+ * SpringTestRunner using JDK dynamic proxies.
+ * 
+ */
+public interface RowService {
+
+    /**
+     * Echo the given value back to the caller
+     * 
+     * @param id the id of the row
+     * @param value the value of the row
+     * @return the value prefixed with the row id
+     */
+    String echo(String id, String value);
+
+}
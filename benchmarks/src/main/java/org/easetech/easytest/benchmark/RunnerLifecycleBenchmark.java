@@ -0,0 +1,133 @@
+package org.easetech.easytest.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.easetech.easytest.converter.ConverterManager;
+import org.easetech.easytest.loader.Loader;
+import org.easetech.easytest.runner.EasyFrameworkMethod;
+import org.easetech.easytest.runner.RunnerUtil;
+import org.easetech.easytest.util.DataContext;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the class level phases of the SpringTestRunner : constructing the runner, loading the class level
+ * data, computing the data driven framework methods and writing the output data once all the rows have been executed.
+ * These phases run once per test class and their cost grows with the number of data rows, so every measurement is a
+ * single shot on a freshly prepared runner.
+ *
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-XX:+IgnoreUnrecognizedVMOptions",
+    "--add-opens=java.base/java.lang=ALL-UNNAMED" })
+@State(Scope.Thread)
+public class RunnerLifecycleBenchmark {
+
+    /**
+     * The number of data rows of the synthetic test class
+     */
+    @Param({ "10", "10000", "1000000" })
+    public int rows;
+
+    private SyntheticDataSet dataSet;
+
+    private BenchmarkSpringTestRunner runner;
+
+    private static final Statement NO_OP = new Statement() {
+
+        @Override
+        public void evaluate() throws Throwable {
+            // nothing to evaluate
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void createDataSet() throws Exception {
+        dataSet = new SyntheticDataSet(rows);
+    }
+
+    @Setup(Level.Iteration)
+    public void createRunner() throws Exception {
+        cleanContext();
+        dataSet.restore();
+        runner = new BenchmarkSpringTestRunner(SyntheticDataDrivenTest.class);
+        // Simulate the output of the executed rows so that there is something to write back
+        for (FrameworkMethod row : runner.rows()) {
+            Map<String, Object> testData = ((EasyFrameworkMethod) row).getTestData();
+            testData.put(Loader.ACTUAL_RESULT, testData.get("value"));
+            testData.put(Loader.DURATION, Double.valueOf(0.1));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void releaseRunner() {
+        runner = null;
+        cleanContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDataSet() {
+        dataSet.delete();
+    }
+
+    private static void cleanContext() {
+        DataContext.cleanData();
+        ConverterManager.cleanConverters();
+    }
+
+    /**
+     * The complete constructor : loading the bean configuration, the class level data and computing the framework
+     * methods.
+     */
+    @Benchmark
+    public BenchmarkSpringTestRunner construct() throws Exception {
+        cleanContext();
+        return new BenchmarkSpringTestRunner(SyntheticDataDrivenTest.class);
+    }
+
+    /**
+     * Loading and parsing the class level test data only
+     */
+    @Benchmark
+    public Map<String, List<Map<String, Object>>> loadClassLevelData() {
+        cleanContext();
+        Map<String, List<Map<String, Object>>> writableData = new HashMap<String, List<Map<String, Object>>>();
+        RunnerUtil.loadClassLevelData(SyntheticDataDrivenTest.class, runner.getTestClass(), writableData);
+        return writableData;
+    }
+
+    /**
+     * Computing one {@link FrameworkMethod} per data row from the already loaded data
+     */
+    @Benchmark
+    public List<FrameworkMethod> computeMethodsForTest() {
+        return runner.computeMethods();
+    }
+
+    /**
+     * Running the after class callbacks, which writes all the output data back to the data file
+     */
+    @Benchmark
+    public void withAfterClasses() throws Throwable {
+        runner.afterClasses(NO_OP).evaluate();
+    }
+
+}
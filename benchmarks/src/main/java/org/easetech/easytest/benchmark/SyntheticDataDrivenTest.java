@@ -0,0 +1,63 @@
+package org.easetech.easytest.benchmark;
+
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Duration;
+import org.easetech.easytest.annotation.Intercept;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.loader.LoaderType;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * A synthetic data driven test class that is driven by the SpringTestRunner inside the benchmarks. The test data file
+ * is generated by {@link SyntheticDataSet} and its location is passed using the
+ * {@link SyntheticDataSet#DATA_FILE_PROPERTY} system property. The class exercises every instrumentation path of the
+ * runner :
+ * <ul>
+ * <li>a {@link Duration} field of an interface type (JDK dynamic proxy)</li>
+ * <li>a {@link Duration} field of a concrete type (CGLIB proxy)</li>
+ * <li>an {@link Intercept} field (Spring ProxyFactory)</li>
+ * <li>a {@link Duration} annotation at the method level</li>
+ * <li>a non void return type, so that output data is written back to the data file</li>
+ * </ul>
+ *
+ */
+@ContextConfiguration(classes = { DefaultRowService.class, DefaultRowAuditor.class, RowFormatter.class })
+@DataLoader(filePaths = { "${" + SyntheticDataSet.DATA_FILE_PROPERTY + "}" }, loaderType = LoaderType.CSV)
+public class SyntheticDataDrivenTest {
+
+    @Autowired
+    @Duration(timeInMillis = 10000)
+    private RowService rowService;
+
+    @Autowired
+    @Duration(timeInMillis = 10000)
+    private RowFormatter rowFormatter;
+
+    @Autowired
+    @Intercept
+    private RowAuditor rowAuditor;
+
+    @Test
+    @Duration(timeInMillis = 10000, forClass = RowService.class)
+    public String echo(@Param(name = "id") String id, @Param(name = "value") String value) {
+        rowAuditor.audit(id);
+        return rowFormatter.format(rowService.echo(id, value));
+    }
+
+    /**
+     * Replace the instrumented fields with the given un-instrumented instances, so that the same test instance can
+     * be instrumented over and over again.
+     *
+     * @param service the {@link RowService} to use
+     * @param formatter the {@link RowFormatter} to use
+     * @param auditor the {@link RowAuditor} to use
+     */
+    void reset(RowService service, RowFormatter formatter, RowAuditor auditor) {
+        this.rowService = service;
+        this.rowFormatter = formatter;
+        this.rowAuditor = auditor;
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.easetech.easytest.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Generates the CSV test data file used by {@link SyntheticDataDrivenTest}. Two copies of the file are kept : a
+ * pristine one and a working one. The runner writes the output data back to the working copy, and
+ * {@link #restore()} puts the original content back before every measurement that writes data.
+ *
+ */
+public class SyntheticDataSet {
+
+    /**
+     * The system property holding the location of the generated data file
+     */
+    public static final String DATA_FILE_PROPERTY = "easytest.benchmark.dataFile";
+
+    /**
+     * The name of the test method in {@link SyntheticDataDrivenTest}
+     */
+    public static final String METHOD_NAME = "echo";
+
+    private final File pristineFile;
+
+    private final File dataFile;
+
+    private final int rows;
+
+    /**
+     * Construct a new SyntheticDataSet and generate its data file
+     *
+     * @param rows the number of data rows to generate
+     * @throws IOException if the file could not be written
+     */
+    public SyntheticDataSet(int rows) throws IOException {
+        this.rows = rows;
+        this.pristineFile = File.createTempFile("easytest-benchmark-", ".csv");
+        this.dataFile = File.createTempFile("easytest-benchmark-", ".csv");
+        write(pristineFile, rows);
+        restore();
+        System.setProperty(DATA_FILE_PROPERTY, dataFile.getAbsolutePath());
+    }
+
+    private static void write(File file, int rows) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")));
+        try {
+            writer.write(METHOD_NAME + ",id,value\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write(",");
+                writer.write(String.valueOf(i));
+                writer.write(",value");
+                writer.write(String.valueOf(i));
+                writer.write("\n");
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Restore the content of the working data file
+     *
+     * @throws IOException if the file could not be copied
+     */
+    public void restore() throws IOException {
+        Files.copy(pristineFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Delete the generated files
+     */
+    public void delete() {
+        System.clearProperty(DATA_FILE_PROPERTY);
+        pristineFile.delete();
+        dataFile.delete();
+    }
+
+    /**
+     * @return the number of data rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the working data file
+     */
+    public File getDataFile() {
+        return dataFile;
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.easetech.easytest.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class level Annotation that is used to run the data rows of the test methods in parallel on a work stealing
+ * {@link ForkJoinPool}. Unlike {@link Parallel}, which hands every test to a thread pool as soon as it is scheduled,
+ * the rows are collected first and then recursively split into tasks of at most {@link #granularity()} rows. Idle
+ * workers steal the pending halves from busy ones, so rows of very different cost still keep all the workers busy.
+ * <br>
+ * The values can be overridden at runtime using the "test.forkJoinParallelism" and "test.forkJoinGranularity"
+ * system properties.
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface ForkJoinParallel {
+    
+    /** Number of worker threads of the {@link ForkJoinPool}. 
+     * If the value is ZERO or a NEGATIVE number, the number of available processors is used */
+    int parallelism() default 0;
+    
+    /** The maximum number of data rows that a single task runs before it is split further. 
+     * If the value is ZERO or a NEGATIVE number, every row is its own task */
+    int granularity() default 1;
+
+}
@@ -0,0 +1,38 @@
+package org.easetech.easytest.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Class level Annotation that is used to load the test data of every test method only when the method is run. By
+ * default, the SpringTestRunner loads the data of all the test methods when it is constructed, even if a filter, for
+ * eg. the selection of a single test method in the IDE, runs only some of them. With this annotation :
+ * <ul>
+ * <li>the runner has a single child per test method until the method runs</li>
+ * <li>when the method runs, its rows are loaded, expanded and run using the scheduler of the test class</li>
+ * <li>once all its rows have run, the rows are removed from the data context again, and from the data to be written
+ * back unless the test data of the method is written back to its files</li>
+ * </ul>
+ * The test methods themselves run one after the other. The loaders that can read the rows of a single method, that is
+ * the {@link org.easetech.easytest.loader.MethodRowsLoader} implementations such as the StreamingExcelDataLoader, the
+ * StreamingXMLDataLoader and the MappedCSVDataLoader, still read the whole file but skip the rows of the other methods,
+ * so that only the rows of the method that runs are built and kept. Every method reads its files again.
+ * <br>
+ * The other loaders parse whole files : the first method that runs pays for parsing every row of its data files, and
+ * the parsed files are then kept through a SoftReference, so that the methods that follow reuse them for as long as
+ * the memory allows. The same goes for every loader when the dataset caches are enabled. Either way, the rows of a
+ * method whose data is written back stay in memory until the test class has run, as the data is written back once all
+ * the methods have run.
+ * <br>
+ * Lazy loading can be switched on or off at runtime using the "test.lazyDataLoading" system property.
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface LazyDataLoading {
+
+}
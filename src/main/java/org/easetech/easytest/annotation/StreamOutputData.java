@@ -0,0 +1,29 @@
+package org.easetech.easytest.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Class level Annotation that is used to stream the output data of the test methods to disk. By default the values
+ * returned by the test methods are kept on the heap until all the tests of the class have run and the data is written
+ * back to the test data files. With this annotation, the output of every data row is appended to a temporary spill
+ * file as soon as the row completes, and is read back from it only while the test data files are written. This keeps
+ * test classes with a very large number of rows from running out of memory.
+ * <br>
+ * Streaming can be switched on or off at runtime using the "test.streamOutputData" system property, and the directory
+ * of the spill files can be overridden using the "test.outputSpillDirectory" system property.
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface StreamOutputData {
+
+    /** The directory in which the spill files are created. 
+     * If the value is empty, the temporary directory of the JVM is used */
+    String spillDirectory() default "";
+
+}
@@ -0,0 +1,29 @@
+package org.easetech.easytest.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Class level Annotation that is used to run every data row of the test methods on its own virtual thread. This suits
+ * rows that spend most of their time blocked, for eg. waiting on an embedded database or a local HTTP stub, where a
+ * thread pool sized to the number of processors would leave the CPU idle.
+ * <br>
+ * Virtual threads are available from Java 21 onwards. On older JVMs the rows are run on a cached thread pool instead,
+ * still bounded by {@link #maxConcurrency()}.
+ * <br>
+ * The value can be overridden at runtime using the "test.virtualThreadConcurrency" system property.
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface VirtualThreadParallel {
+    
+    /** The maximum number of rows that run at the same time. 
+     * If the value is ZERO or a NEGATIVE number, the number of concurrent rows is not limited */
+    int maxConcurrency() default 0;
+
+}
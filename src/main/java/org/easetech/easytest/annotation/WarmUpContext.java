@@ -0,0 +1,25 @@
+package org.easetech.easytest.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Class level Annotation that is used to load the Spring ApplicationContext of the test class on a background thread
+ * while the SpringTestRunner loads the test data and computes the test methods. By default the context is loaded when
+ * the first test instance is prepared, that is after all the test data has been loaded, so that the startup time of a
+ * test class is the sum of the two. With this annotation, the two overlap. The first test instance waits for the
+ * context if it is still loading, and if the background load fails, the context is loaded again, and its failure
+ * reported, as usual.
+ * <br>
+ * The warm up can be switched on or off at runtime using the "test.contextWarmUp" system property.
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+public @interface WarmUpContext {
+
+}
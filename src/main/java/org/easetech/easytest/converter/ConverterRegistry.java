@@ -0,0 +1,217 @@
+package org.easetech.easytest.converter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.easetech.easytest.annotation.Converters;
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+/**
+ * The converters of a test class, resolved once per test class. The registry instantiates a single {@link Converter}
+ * for every converter class referenced by a {@link Converters} annotation on the test class or on one of its test
+ * methods. Instead of registering the converters again with {@link ConverterManager} for every test instance and every
+ * data row, {@link #install(Method)} makes the converters of a test method visible to
+ * {@link ConverterManager#findConverter(Class)} by putting a snapshot in the current thread.
+ * <br>
+ * Every test method has a snapshot of its own, holding the converters of the test class and those of the method, so
+ * that the converters of a method never apply to the other methods. A converter of the method replaces the converter
+ * of the test class for the same type. The snapshots are concurrent sets, so that rows running in parallel look
+ * converters up without locking, and a snapshot is shared by all the threads running rows of its method.
+ *
+ */
+@SuppressWarnings("rawtypes")
+public class ConverterRegistry {
+
+    /**
+     * The key of the snapshot of the test class itself
+     */
+    private static final Object CLASS_KEY = new Object();
+
+    /**
+     * The converters resolved for the test class and all its test methods
+     */
+    private final List<Converter> resolvedConverters;
+
+    /**
+     * The converters of the test class
+     */
+    private final List<Converter> classConverters;
+
+    /**
+     * The converters of every test method that has converters of its own, including those of the test class
+     */
+    private final Map<Method, List<Converter>> methodConverters = new HashMap<Method, List<Converter>>();
+
+    /**
+     * All the resolved converters, by identity, so that they can be told apart from the converters registered directly
+     * with {@link ConverterManager}
+     */
+    private final Set<Converter> ownConverters = Collections.newSetFromMap(new IdentityHashMap<Converter, Boolean>());
+
+    /**
+     * The last snapshot installed for the test class and for every test method
+     */
+    private final ConcurrentMap<Object, Set<Converter>> snapshots = new ConcurrentHashMap<Object, Set<Converter>>();
+
+    /**
+     * Construct a new ConverterRegistry
+     *
+     * @param testClass the class under test
+     */
+    public ConverterRegistry(TestClass testClass) {
+        Map<Class, Converter> converters = new LinkedHashMap<Class, Converter>();
+        classConverters = Collections.unmodifiableList(resolve(testClass.getJavaClass().getAnnotation(
+            Converters.class), converters));
+        for (FrameworkMethod method : testClass.getAnnotatedMethods(Test.class)) {
+            List<Converter> ownMethodConverters = resolve(method.getAnnotation(Converters.class), converters);
+            if (ownMethodConverters.isEmpty()) {
+                continue;
+            }
+            List<Converter> allMethodConverters = new ArrayList<Converter>(ownMethodConverters);
+            for (Converter classConverter : classConverters) {
+                if (!convertsToAnyOf(classConverter, ownMethodConverters)) {
+                    allMethodConverters.add(classConverter);
+                }
+            }
+            methodConverters.put(method.getMethod(), Collections.unmodifiableList(allMethodConverters));
+        }
+        resolvedConverters = Collections.unmodifiableList(new ArrayList<Converter>(converters.values()));
+        ownConverters.addAll(resolvedConverters);
+    }
+
+    private static List<Converter> resolve(Converters annotation, Map<Class, Converter> converters) {
+        List<Converter> annotationConverters = new ArrayList<Converter>();
+        if (annotation == null) {
+            return annotationConverters;
+        }
+        for (Class<? extends Converter> converterClass : annotation.value()) {
+            Converter converter = converters.get(converterClass);
+            if (converter == null) {
+                converter = newConverter(converterClass);
+                converters.put(converterClass, converter);
+            }
+            annotationConverters.add(converter);
+        }
+        return annotationConverters;
+    }
+
+    private static boolean convertsToAnyOf(Converter converter, List<Converter> converters) {
+        for (Converter other : converters) {
+            if (converter.convertTo().equals(other.convertTo())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Converter newConverter(Class<? extends Converter> converterClass) {
+        try {
+            return converterClass.getDeclaredConstructor().newInstance();
+        } catch (InstantiationException e) {
+            throw new RuntimeException(
+                "InstantiationException occured while trying to register a converter with class : " + converterClass, e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(
+                "IllegalAccessException occured while trying to register a converter with class : " + converterClass, e);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(
+                "NoSuchMethodException occured while trying to register a converter with class : " + converterClass, e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(
+                "InvocationTargetException occured while trying to register a converter with class : " + converterClass,
+                e.getCause());
+        }
+    }
+
+    /**
+     * @return the converters resolved for the test class and all its test methods
+     */
+    public List<Converter> getResolvedConverters() {
+        return resolvedConverters;
+    }
+
+    /**
+     * @param method the test method
+     * @return the converters the given test method sees, that is its own and those of the test class
+     */
+    public List<Converter> getConverters(Method method) {
+        List<Converter> converters = method != null ? methodConverters.get(method) : null;
+        return converters != null ? converters : classConverters;
+    }
+
+    /**
+     * Make the converters of the test class available to the current thread, for eg. while a test instance is created
+     */
+    public void install() {
+        install(null);
+    }
+
+    /**
+     * Make the converters of the given test method available to the current thread. This is a no-op if the current
+     * thread already sees the snapshot of the method, which is the case for every row of the method after the first
+     * one. Converters registered directly with {@link ConverterManager}, for eg. in a BeforeClass method, are kept,
+     * while the converters of the other test methods are removed.
+     *
+     * @param method the test method, or null for the converters of the test class only
+     */
+    public void install(Method method) {
+        if (resolvedConverters.isEmpty()) {
+            return;
+        }
+        Object key = method != null && methodConverters.containsKey(method) ? method : CLASS_KEY;
+        Set<Converter> currentConverters = ConverterManager.converters.get();
+        Set<Converter> snapshot = snapshots.get(key);
+        if (currentConverters != null && currentConverters == snapshot) {
+            return;
+        }
+        if (snapshot == null || !sameRegisteredConverters(snapshot, currentConverters)) {
+            snapshot = Collections.newSetFromMap(new ConcurrentHashMap<Converter, Boolean>());
+            if (currentConverters != null) {
+                for (Converter converter : currentConverters) {
+                    if (!ownConverters.contains(converter)) {
+                        snapshot.add(converter);
+                    }
+                }
+            }
+            snapshot.addAll(getConverters(method));
+            snapshots.put(key, snapshot);
+        }
+        ConverterManager.converters.set(snapshot);
+    }
+
+    /**
+     * Whether the given snapshot holds exactly the converters registered directly with {@link ConverterManager} that
+     * the current thread sees
+     */
+    private boolean sameRegisteredConverters(Set<Converter> snapshot, Set<Converter> currentConverters) {
+        int registered = 0;
+        if (currentConverters != null) {
+            for (Converter converter : currentConverters) {
+                if (!ownConverters.contains(converter)) {
+                    if (!snapshot.contains(converter)) {
+                        return false;
+                    }
+                    registered++;
+                }
+            }
+        }
+        for (Converter converter : snapshot) {
+            if (!ownConverters.contains(converter)) {
+                registered--;
+            }
+        }
+        return registered == 0;
+    }
+
+}
@@ -20,6 +20,8 @@ import org.easetech.easytest.annotation.Intercept;
 import java.lang.reflect.Method;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.easetech.easytest.reports.data.HistogramDurationObserver;
+import org.easetech.easytest.reports.data.MethodUnderTestDuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,22 +33,27 @@ import org.slf4j.LoggerFactory;
  * {@link MethodIntercepter#intercept(Method, Object, Object[])} method is called internally.
  * The actual implementation of the {@link MethodIntercepter} is provided by the user as an attribute to the {@link Intercept} annotation.
  * If none is provided, then {@link DefaultMethodIntercepter} implementation is used.
+ * <br>
+ * Like the {@link InternalInvocationhandler} and {@link InternalInterceptor}, it measures the time taken by every call
+ * in nanoseconds, compares it to the expected run time if one is set, and records it with the
+ * {@link HistogramDurationObserver} if one is set, so that the durations of the Spring managed beans are reported
+ * as well.
  * 
  * @author Anuj Kumar
  *
  */
-public class InternalSpringInterceptor implements MethodInterceptor {
-    
-    /**
-     * An instance of the {@link MethodIntercepter}
-     */
-    private MethodIntercepter userIntercepter;
+public class InternalSpringInterceptor extends CommonProxyInterceptor implements MethodInterceptor {
     
     /**
      * An instance of logger associated with the test framework.
      */
     protected static final Logger LOG = LoggerFactory.getLogger(InternalSpringInterceptor.class);
 
+    /**
+     * The observer recording the durations, or null if they are not recorded
+     */
+    private HistogramDurationObserver durationObserver;
+
     /**
      * Intercept the method with the advice
      * @param invocation 
@@ -55,31 +62,58 @@ public class InternalSpringInterceptor implements MethodInterceptor {
      */
 
     public Object invoke(MethodInvocation invocation) throws Throwable {
-        return userIntercepter.intercept(invocation.getMethod(), invocation.getThis(), invocation.getArguments());
+        if (getTargetInstance() == null) {
+            setTargetInstance(invocation.getThis());
+        }
+        if (MethodHandleInvoker.canInvoke(getUserIntercepter())) {
+            return MethodHandleInvoker.intercept(this, invocation.getMethod(), invocation.getArguments());
+        }
+        return intercept(invocation.getMethod(), invocation.getArguments());
         
     }
 
     /**
-     * Return an instance of {@link MethodIntercepter}. See the class javadocs for details.
-     * @return the userIntercepter
+     * Record the time taken by the method, then compare it to the expected runtime. A Spring bean intercepted using
+     * {@link Intercept} usually has no expected runtime, in which case the time taken is only logged at debug level,
+     * as the comparison of {@link CommonProxyInterceptor} prints the time taken by every call to the standard output.
+     *
+     * @param timeTakenInNanos time taken by the method under test
+     * @param method Name of the method
+     * @param durationBean the instance of {@link MethodUnderTestDuration}
      */
-    public MethodIntercepter getUserIntercepter() {
-        return userIntercepter;
+    @Override
+    public void compareTime(Long timeTakenInNanos, Method method, MethodUnderTestDuration durationBean) {
+        if (durationObserver != null) {
+            durationObserver.record(getTargetInstance().getClass(), method, timeTakenInNanos.longValue());
+        }
+        if (getExpectedTimeInNano(getExpectedRunTime()) != null) {
+            super.compareTime(timeTakenInNanos, method, durationBean);
+            return;
+        }
+        long timeTakenInMillis = timeTakenInNanos.longValue() / 1000000;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Method {} on {} took {} nanosec/{} millisec", new Object[] { method.getName(),
+                getTargetInstance().getClass(), timeTakenInNanos, Long.valueOf(timeTakenInMillis) });
+        }
+        durationBean.setActualDurationinMillis(Long.valueOf(timeTakenInMillis));
+        durationBean.setExpectedDurationinMillis(Long.valueOf(0));
+        notifyObservers(durationBean);
     }
 
     /**
-     * Set the user interceptor
-     * @param userIntercepter the userIntercepter to set
+     * Get the observer recording the durations
+     * @return the durationObserver, or null if the durations are not recorded
      */
-    public void setUserIntercepter(MethodIntercepter userIntercepter) {
-        this.userIntercepter = userIntercepter;
+    public HistogramDurationObserver getDurationObserver() {
+        return durationObserver;
     }
-    
-    
-
-
-
-    
 
+    /**
+     * Set the observer recording the durations
+     * @param durationObserver the durationObserver to set
+     */
+    public void setDurationObserver(HistogramDurationObserver durationObserver) {
+        this.durationObserver = durationObserver;
+    }
 
 }
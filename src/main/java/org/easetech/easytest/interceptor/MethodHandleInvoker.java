@@ -0,0 +1,161 @@
+package org.easetech.easytest.interceptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.easetech.easytest.reports.data.MethodUnderTestDuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invokes the methods intercepted by the {@link RecordingInvocationhandler} and {@link RecordingInterceptor} through a
+ * {@link MethodHandle} instead of {@link Method#invoke(Object, Object...)}, so that the cost of the reflective call
+ * does not end up in the duration that is compared to the {@link org.easetech.easytest.annotation.Duration} of the
+ * method.
+ * <br>
+ * The method handle of a method is created the first time the method is called through a proxy, and is then shared
+ * by all the proxies of the JVM. It is held by the class declaring the method, so that it does not keep the class
+ * loaded. The method handles are only used when the {@link DefaultMethodIntercepter} intercepts the calls, as a user
+ * provided {@link MethodIntercepter} decides on its own how to call the method. A method that cannot be looked up, for
+ * eg. because its module is not open, is called reflectively.
+ *
+ */
+public final class MethodHandleInvoker {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(MethodHandleInvoker.class);
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * The type of all the invokers : the target instance and the arguments, returning the result
+     */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /**
+     * Marks the methods that are called reflectively
+     */
+    private static final MethodHandle REFLECTIVE = MethodHandles.constant(Object.class, null);
+
+    /**
+     * The invokers of the methods, held by the class declaring the methods
+     */
+    private static final ClassValue<ConcurrentMap<Method, MethodHandle>> INVOKERS =
+        new ClassValue<ConcurrentMap<Method, MethodHandle>>() {
+
+        @Override
+        protected ConcurrentMap<Method, MethodHandle> computeValue(Class<?> declaringClass) {
+            return new ConcurrentHashMap<Method, MethodHandle>();
+        }
+    };
+
+    private MethodHandleInvoker() {
+        // utility class
+    }
+
+    /**
+     * Whether the calls intercepted by the given {@link MethodIntercepter} can be made through a method handle
+     *
+     * @param userIntercepter the user provided {@link MethodIntercepter}
+     * @return true if the intercepter is the {@link DefaultMethodIntercepter}
+     */
+    public static boolean canInvoke(MethodIntercepter userIntercepter) {
+        return userIntercepter != null && userIntercepter.getClass() == DefaultMethodIntercepter.class;
+    }
+
+    /**
+     * Call the given method on the target instance of the given interceptor, and compare the time taken by the method
+     * to the expected run time, the same way {@link CommonProxyInterceptor#intercept(Method, Object[])} does. Only the
+     * call itself is timed : the method handle is looked up before the timing starts.
+     *
+     * @param interceptor the interceptor of the proxy the method was called on
+     * @param method the method to invoke
+     * @param args the arguments to the method
+     * @return result of method execution
+     * @throws Throwable if any exception occurs. An exception thrown by the method is wrapped in an
+     *             {@link InvocationTargetException}, as with {@link DefaultMethodIntercepter}.
+     */
+    public static Object intercept(CommonProxyInterceptor interceptor, Method method, Object[] args) throws Throwable {
+        MethodHandle invoker = getInvoker(method);
+        Object targetInstance = interceptor.getTargetInstance();
+        long startTime = System.nanoTime();
+        Object result = invoke(invoker, method, targetInstance, args);
+        long timeTaken = System.nanoTime() - startTime;
+        MethodUnderTestDuration durationBean = new MethodUnderTestDuration();
+        durationBean.setClassUnderTest(targetInstance.getClass());
+        durationBean.setMethodUnderTest(method);
+        durationBean.setMethodArguments(args);
+        durationBean.setMethodResult(result);
+        interceptor.compareTime(Long.valueOf(timeTaken), method, durationBean);
+        return result;
+    }
+
+    /**
+     * Call the given method through the given invoker
+     *
+     * @param invoker the invoker of the method, as returned by {@link #getInvoker(Method)}
+     * @param method the method
+     * @param targetInstance the instance on which to call the method
+     * @param args the arguments to the method, or null if it has none
+     * @return result of method execution, or null if the method returns void
+     * @throws Throwable if any exception occurs. An exception thrown by the method is wrapped in an
+     *             {@link InvocationTargetException}.
+     */
+    public static Object invoke(MethodHandle invoker, Method method, Object targetInstance, Object[] args)
+        throws Throwable {
+        Object[] arguments = args != null ? args : NO_ARGS;
+        if (invoker == REFLECTIVE) {
+            return method.invoke(targetInstance, arguments);
+        }
+        try {
+            return (Object) invoker.invokeExact(targetInstance, arguments);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Get the invoker of the given method, creating it on first use
+     *
+     * @param method the method
+     * @return the invoker to pass to {@link #invoke(MethodHandle, Method, Object, Object[])}
+     */
+    public static MethodHandle getInvoker(Method method) {
+        ConcurrentMap<Method, MethodHandle> invokers = INVOKERS.get(method.getDeclaringClass());
+        MethodHandle invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = createInvoker(method);
+            MethodHandle existing = invokers.putIfAbsent(method, invoker);
+            if (existing != null) {
+                invoker = existing;
+            }
+        }
+        return invoker;
+    }
+
+    private static MethodHandle createInvoker(Method method) {
+        try {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                // for eg. a public method of a package private interface
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterTypes().length).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            LOG.debug("The method {} is called reflectively as it could not be looked up", method, e);
+        } catch (RuntimeException e) {
+            LOG.debug("The method {} is called reflectively as it could not be looked up", method, e);
+        }
+        return REFLECTIVE;
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.easetech.easytest.interceptor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import org.easetech.easytest.annotation.Duration;
+
+/**
+ * A cache of the proxy classes generated to capture the {@link Duration} of the methods of a field under test.
+ * Generating a proxy class is expensive and every generated class takes up space in the permanent generation, or the
+ * Metaspace, until its class loader is collected. The generated class only depends on the proxied type, as the user
+ * interceptor is reached through the {@link InternalInterceptor} callback. The classes are therefore generated only
+ * once per proxied type, and every test instance after that only instantiates the cached class.
+ * <br>
+ * Every runner has a cache of its own, so that the cached classes, and through them the class loaders of the proxied
+ * types, are no longer referenced once the runner is done with the test class.
+ *
+ */
+public class ProxyClassCache {
+
+    /**
+     * The CGLIB proxy classes, keyed by the proxied class
+     */
+    private final ConcurrentMap<Class<?>, Class<?>> cglibProxyClasses = new ConcurrentHashMap<Class<?>, Class<?>>();
+
+    /**
+     * Create a new CGLIB proxy of the given class that delegates every call to the given interceptor. The proxy class
+     * is generated on the first call for a given class.
+     *
+     * @param fieldType the class to proxy
+     * @param cglibInterceptor the interceptor of the new proxy
+     * @return a new proxy instance
+     * @throws InstantiationException if the proxy could not be instantiated
+     * @throws IllegalAccessException if the constructor of the proxied class is not accessible
+     */
+    public Object newCGLIBProxy(Class<?> fieldType, InternalInterceptor cglibInterceptor)
+        throws InstantiationException, IllegalAccessException {
+        Class<?> proxyClass = getCGLIBProxyClass(fieldType);
+        // the callbacks are registered for the current thread only, so that the constructor of the proxied class is
+        // intercepted exactly as it would be with Enhancer#create()
+        Enhancer.registerCallbacks(proxyClass, new Callback[] { cglibInterceptor });
+        try {
+            return proxyClass.getDeclaredConstructor().newInstance();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("The class " + fieldType.getName()
+                + " cannot be proxied as it has no constructor without arguments", e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException("The constructor of the class " + fieldType.getName() + " failed", e.getCause());
+        } finally {
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+    }
+
+    /**
+     * Get the CGLIB proxy class of the given class, generating it if required
+     *
+     * @param fieldType the class to proxy
+     * @return the proxy class
+     */
+    Class<?> getCGLIBProxyClass(Class<?> fieldType) {
+        Class<?> proxyClass = cglibProxyClasses.get(fieldType);
+        if (proxyClass == null) {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(fieldType);
+            enhancer.setCallbackType(InternalInterceptor.class);
+            proxyClass = enhancer.createClass();
+            Class<?> existingClass = cglibProxyClasses.putIfAbsent(fieldType, proxyClass);
+            if (existingClass != null) {
+                proxyClass = existingClass;
+            }
+        }
+        return proxyClass;
+    }
+
+}
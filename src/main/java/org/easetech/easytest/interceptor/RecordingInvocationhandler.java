@@ -0,0 +1,58 @@
+package org.easetech.easytest.interceptor;
+
+import java.lang.reflect.Method;
+import org.easetech.easytest.reports.data.HistogramDurationObserver;
+import org.easetech.easytest.reports.data.MethodUnderTestDuration;
+
+/**
+ * An {@link InternalInvocationhandler} that records the duration of every call, in nanoseconds, with a
+ * {@link HistogramDurationObserver}, before comparing it to the expected run time. When the calls are intercepted by
+ * the {@link DefaultMethodIntercepter}, the method is called through a method handle, see {@link MethodHandleInvoker}.
+ *
+ */
+public class RecordingInvocationhandler extends InternalInvocationhandler {
+
+    /**
+     * The observer recording the durations
+     */
+    private final HistogramDurationObserver durationObserver;
+
+    /**
+     * Construct a new RecordingInvocationhandler
+     *
+     * @param durationObserver the observer recording the durations
+     */
+    public RecordingInvocationhandler(HistogramDurationObserver durationObserver) {
+        this.durationObserver = durationObserver;
+    }
+
+    /**
+     * Call the method on the target instance, and compare the time taken by the method to the expected run time
+     *
+     * @param method the method to invoke
+     * @param args the arguments to the method
+     * @return result of method execution
+     * @throws Throwable if any exception occurs
+     */
+    @Override
+    public Object intercept(Method method, Object[] args) throws Throwable {
+        if (MethodHandleInvoker.canInvoke(getUserIntercepter())) {
+            return MethodHandleInvoker.intercept(this, method, args);
+        }
+        return super.intercept(method, args);
+    }
+
+    /**
+     * Record the time taken by the method, then compare it to the expected runtime.
+     *
+     * @param timeTakenInNanos time taken by the method under test
+     * @param method Name of the method
+     * @param durationBean the instance of {@link MethodUnderTestDuration}
+     */
+    @Override
+    public void compareTime(Long timeTakenInNanos, Method method, MethodUnderTestDuration durationBean) {
+        durationObserver.record(getTargetInstance().getClass(), method, timeTakenInNanos.longValue());
+        super.compareTime(timeTakenInNanos, method, durationBean);
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.easetech.easytest.internal;
+
+/**
+ * 
+ * A convenient class to define all the system properties that the EasyTest Spring module expects, in addition to the
+ * ones defined by {@link SystemProperties}.
+ * 
+ */
+public enum SpringSystemProperties {
+    
+    /**
+     * System property to specify the number of worker threads of the fork join pool that runs the data rows in
+     * parallel. Setting this property switches the runner to the fork join scheduler. A value of ZERO or a NEGATIVE
+     * number means all the available processors.
+     */
+    FORK_JOIN_PARALLELISM("test.forkJoinParallelism"),
+    
+    /**
+     * System property to specify the maximum number of data rows that a single fork join task runs before it is split
+     * further.
+     */
+    FORK_JOIN_GRANULARITY("test.forkJoinGranularity"),
+    
+    /**
+     * System property to specify the maximum number of data rows that run at the same time on virtual threads. Setting
+     * this property switches the runner to the virtual thread scheduler. A value of ZERO or a NEGATIVE number means no
+     * limit.
+     */
+    VIRTUAL_THREAD_CONCURRENCY("test.virtualThreadConcurrency"),
+    
+    /**
+     * System property to specify whether the output data of the rows is spilled to disk as soon as every row completes,
+     * instead of being kept on the heap until the data is written back to the test data files. Possible values are
+     * "true" and "false".
+     */
+    STREAM_OUTPUT_DATA("test.streamOutputData"),
+    
+    /**
+     * System property to specify the directory in which the output data is spilled. Defaults to the temporary
+     * directory of the JVM.
+     */
+    OUTPUT_SPILL_DIRECTORY("test.outputSpillDirectory"),
+    
+    /**
+     * System property to specify whether the report data of the rows is appended to a file in the output spill
+     * directory as soon as every row completes, instead of being kept on the heap until the reports are generated.
+     * Only an empty report bean per row then remains on the heap. Possible values are "true" and "false". Defaults to
+     * whether the output data is spilled to disk.
+     */
+    STREAM_REPORT_DATA("test.streamReportData"),
+    
+    /**
+     * System property to specify whether the Spring ApplicationContext is loaded on a background thread while the test
+     * data is loaded. Possible values are "true" and "false".
+     */
+    CONTEXT_WARM_UP("test.contextWarmUp"),
+    
+    /**
+     * System property to specify whether the test data of a test method is loaded only when the method is run, and
+     * released once all its rows have run. Possible values are "true" and "false".
+     */
+    LAZY_DATA_LOADING("test.lazyDataLoading"),
+    
+    /**
+     * System property to specify the directory in which the parsed test data files are cached, so that the test runs
+     * and forks that follow read the cached data instead of parsing the files again. The cache is disabled if the
+     * property is not set.
+     */
+    DATASET_CACHE_DIRECTORY("test.datasetCacheDirectory"),
+    
+    /**
+     * System property to specify the maximum number of test data values held in memory by the cache shared by all the
+     * test classes run by the JVM. The cache is disabled if the property is not set.
+     */
+    SHARED_DATASET_CACHE_SIZE("test.sharedDatasetCacheSize"),
+    
+    /**
+     * System property to specify the rows of test data to run, for eg. "getItems:12000-12050". The rows can be selected
+     * by index range, by the value of a column or by data hash. All the rows are run if the property is not set.
+     */
+    ROW_SELECTION("test.rowSelection"),
+    
+    /**
+     * System property to specify the index of the shard of test data rows run by this JVM, from 1 to the shard count.
+     */
+    SHARD_INDEX("test.shardIndex"),
+    
+    /**
+     * System property to specify the number of shards the test data rows are partitioned into. The rows are not
+     * sharded if the property is not set.
+     */
+    SHARD_COUNT("test.shardCount"),
+    
+    /**
+     * System property to specify the number of local worker JVMs the test data rows are handed out to, one row at a
+     * time. The rows are run by the JVM running the test class if the property is not set.
+     */
+    ROW_WORKERS("test.rowWorkers"),
+    
+    /**
+     * System property to specify the JVM arguments of the row workers, separated by spaces, for eg. "-Xmx2g".
+     */
+    ROW_WORKER_JVM_ARGS("test.rowWorkerJvmArgs");
+    
+    /**
+     * the actual value of the system property
+     */
+    private String value;
+    
+    /**
+     * 
+     * Construct a new SpringSystemProperties
+     * @param value
+     */
+    private SpringSystemProperties(String value) {
+        this.value = value;
+    }
+    
+    /**
+     * Get the system property value
+     * @return the system property value
+     */
+    public String getValue() {
+        return value;
+    }
+
+}
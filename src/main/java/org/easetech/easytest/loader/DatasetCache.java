@@ -0,0 +1,394 @@
+package org.easetech.easytest.loader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache on disk of the parsed test data files, shared by all the test runs and forks that use the same cache
+ * directory. The data parsed from a file is stored in a compact binary form, in a file named after the SHA-256 hash of
+ * the content of the data file and of the class of the {@link Loader}. The next time the same file is loaded with the
+ * same loader, the cached form is memory mapped and decoded instead of parsing the file again. Changing the data file
+ * changes its hash, so a stale entry is never used.
+ * <br>
+ * The cache is enabled by setting the "test.datasetCacheDirectory" system property, for eg. in the
+ * systemPropertyVariables of the surefire plugin. Only the resources that are files are cached, and only if all the
+ * values loaded from them are Strings, numbers, Booleans or Dates, which is what the loaders of the framework return.
+ * An entry is written to a temporary file first and then renamed, so forks filling the cache at the same time never
+ * read a partial entry.
+ *
+ */
+public class DatasetCache {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(DatasetCache.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * The first bytes of an entry, followed by the version of the format
+     */
+    private static final int MAGIC = 0x45544453;
+
+    private static final int VERSION = 1;
+
+    private static final String ENTRY_SUFFIX = ".dataset";
+
+    /**
+     * The size of the part of a data file that is mapped at a time while computing its hash
+     */
+    private static final long HASH_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private static final byte NULL = 0;
+
+    private static final byte STRING = 1;
+
+    private static final byte DOUBLE = 2;
+
+    private static final byte INTEGER = 3;
+
+    private static final byte LONG = 4;
+
+    private static final byte FLOAT = 5;
+
+    private static final byte BOOLEAN = 6;
+
+    private static final byte DATE = 7;
+
+    /**
+     * Marks a column name that is written for the first time, instead of the index of a column name written before
+     */
+    private static final int NEW_KEY = -1;
+
+    /**
+     * The cache instances, keyed by the cache directory
+     */
+    private static final Map<String, DatasetCache> INSTANCES = new HashMap<String, DatasetCache>();
+
+    /**
+     * The directory of the cache entries
+     */
+    private final File directory;
+
+    /**
+     * Construct a new DatasetCache
+     *
+     * @param directory the directory of the cache entries, created if required
+     */
+    public DatasetCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the cache configured with the "test.datasetCacheDirectory" system property
+     *
+     * @return the cache, or null if the cache is disabled
+     */
+    public static DatasetCache getInstance() {
+        String cacheDirectory = System.getProperty(SpringSystemProperties.DATASET_CACHE_DIRECTORY.getValue());
+        if (cacheDirectory == null || "".equals(cacheDirectory)) {
+            return null;
+        }
+        synchronized (INSTANCES) {
+            DatasetCache cache = INSTANCES.get(cacheDirectory);
+            if (cache == null) {
+                cache = new DatasetCache(new File(cacheDirectory));
+                INSTANCES.put(cacheDirectory, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Load the data of the given resource from the cache, or using the given loader if the data is not cached yet, in
+     * which case the loaded data is added to the cache
+     *
+     * @param dataLoader the loader of the resource
+     * @param resource the resource to load the data from
+     * @return the data keyed by the method name
+     */
+    public Map<String, List<Map<String, Object>>> loadData(Loader dataLoader, Resource resource) {
+        File file = toFile(resource);
+        if (file == null) {
+            return dataLoader.loadData(resource);
+        }
+        File entry;
+        try {
+            entry = new File(directory, hash(dataLoader.getClass(), file) + ENTRY_SUFFIX);
+        } catch (IOException e) {
+            LOG.warn("Could not compute the hash of the resource {}, loading it without the cache", resource, e);
+            return dataLoader.loadData(resource);
+        }
+        if (entry.isFile()) {
+            try {
+                Map<String, List<Map<String, Object>>> data = read(entry);
+                LOG.debug("Loaded the data of the resource {} from the cache entry {}", resource, entry);
+                return data;
+            } catch (Exception e) {
+                LOG.warn("Could not read the cache entry {}, loading the resource {} again", new Object[] { entry, resource, e });
+            }
+        }
+        Map<String, List<Map<String, Object>>> data = dataLoader.loadData(resource);
+        if (data != null) {
+            write(entry, data);
+        }
+        return data;
+    }
+
+    private static File toFile(Resource resource) {
+        try {
+            File file = resource.getFile();
+            return file != null && file.isFile() ? file : null;
+        } catch (Exception e) {
+            return null;
+        } catch (AssertionError e) {
+            // thrown by the resources whose URL is not a valid URI
+            return null;
+        }
+    }
+
+    private static String hash(Class<?> loaderClass, File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        digest.update(loaderClass.getName().getBytes(UTF_8));
+        digest.update((byte) 0);
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            for (long position = 0; position < size; position += HASH_WINDOW_SIZE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(HASH_WINDOW_SIZE, size - position)));
+            }
+        } finally {
+            randomAccessFile.close();
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hash.toString();
+    }
+
+    private void write(File entry, Map<String, List<Map<String, Object>>> data) {
+        File tempFile = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+                LOG.warn("Could not create the dataset cache directory {}", directory);
+                return;
+            }
+            tempFile = File.createTempFile(entry.getName(), ".tmp", directory);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            boolean written;
+            try {
+                written = encode(data, out);
+            } finally {
+                out.close();
+            }
+            if (written) {
+                Files.move(tempFile.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                LOG.debug("Added the cache entry {}", entry);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not write the cache entry {}", entry, e);
+        } finally {
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Encode the data
+     *
+     * @return false if the data holds a value that cannot be cached
+     */
+    private static boolean encode(Map<String, List<Map<String, Object>>> data, DataOutputStream out)
+        throws IOException {
+        Map<String, Integer> keys = new HashMap<String, Integer>();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(data.size());
+        for (Map.Entry<String, List<Map<String, Object>>> method : data.entrySet()) {
+            writeNullableString(out, method.getKey());
+            List<Map<String, Object>> rows = method.getValue();
+            if (rows == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            out.writeInt(rows.size());
+            for (Map<String, Object> row : rows) {
+                out.writeInt(row.size());
+                for (Map.Entry<String, Object> column : row.entrySet()) {
+                    Integer keyIndex = keys.get(column.getKey());
+                    if (keyIndex == null) {
+                        keys.put(column.getKey(), keys.size());
+                        out.writeInt(NEW_KEY);
+                        writeNullableString(out, column.getKey());
+                    } else {
+                        out.writeInt(keyIndex);
+                    }
+                    if (!writeValue(out, column.getValue())) {
+                        LOG.debug("Not caching the data as the value {} of type {} cannot be cached",
+                            column.getValue(), column.getValue().getClass());
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Map<String, List<Map<String, Object>>> read(File entry) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(entry, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The cache entry " + entry + " is truncated", e);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private static Map<String, List<Map<String, Object>>> decode(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Unknown format of the cache entry");
+        }
+        List<String> keys = new ArrayList<String>();
+        int methods = buffer.getInt();
+        Map<String, List<Map<String, Object>>> data = new HashMap<String, List<Map<String, Object>>>();
+        for (int i = 0; i < methods; i++) {
+            String methodName = readNullableString(buffer);
+            int rowCount = buffer.getInt();
+            if (rowCount < 0) {
+                data.put(methodName, null);
+                continue;
+            }
+            List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>(rowCount);
+            for (int j = 0; j < rowCount; j++) {
+                int columns = buffer.getInt();
+                Map<String, Object> row = new LinkedHashMap<String, Object>((columns * 4 + 2) / 3);
+                for (int k = 0; k < columns; k++) {
+                    int keyIndex = buffer.getInt();
+                    String key;
+                    if (keyIndex == NEW_KEY) {
+                        key = readNullableString(buffer);
+                        keys.add(key);
+                    } else {
+                        key = keys.get(keyIndex);
+                    }
+                    row.put(key, readValue(buffer));
+                }
+                rows.add(row);
+            }
+            data.put(methodName, rows);
+        }
+        return data;
+    }
+
+    private static Object readValue(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(buffer);
+            case DOUBLE:
+                return buffer.getDouble();
+            case INTEGER:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case FLOAT:
+                return buffer.getFloat();
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case DATE:
+                return new Date(buffer.getLong());
+            default:
+                throw new IOException("Unknown type " + type + " in the cache entry");
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullableString(ByteBuffer buffer) {
+        return buffer.get() != 0 ? readString(buffer) : null;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+}
@@ -0,0 +1,313 @@
+package org.easetech.easytest.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link Loader} for large CSV files. The files have exactly the same structure as the files read
+ * by {@link CSVDataLoader}, but instead of decoding the whole file through an InputStreamReader, this loader maps the
+ * file in memory and splits the records directly on its bytes. Only the fields themselves are decoded, and the column
+ * names of a method are shared by all its rows.
+ * <br>
+ * Use it by specifying the loader explicitly :
+ * <br>
+ * <code>
+ * &#064;DataLoader(filePaths = { "regression.csv" }, loaderType = LoaderType.CUSTOM, loader = MappedCSVDataLoader.class)
+ * </code>
+ * <br>
+ * The file is mapped one window of 64 MB at a time, so files larger than 2 GB are supported. Resources that are not
+ * available as a file, for eg. files packaged in a jar, are loaded using the {@link CSVDataLoader}, as is the data
+ * written back. The rows of a single test method can be read using {@link #loadMethodData(Resource, String)}, which
+ * only splits the rows of the other methods.
+ *
+ */
+public class MappedCSVDataLoader extends CSVDataLoader implements MethodRowsLoader {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(MappedCSVDataLoader.class);
+
+    /**
+     * The default size of the part of the file that is mapped at a time
+     */
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private static final byte COMMA_SEPARATOR = ',';
+
+    private static final byte QUOTE = '"';
+
+    private static final byte CR = '\r';
+
+    private static final byte LF = '\n';
+
+    /**
+     * The size of the part of the file that is mapped at a time
+     */
+    private final long windowSize;
+
+    /**
+     * Construct a new MappedCSVDataLoader mapping 64 MB of the file at a time
+     */
+    public MappedCSVDataLoader() {
+        this(WINDOW_SIZE);
+    }
+
+    /**
+     * Construct a new MappedCSVDataLoader
+     *
+     * @param windowSize the size of the part of the file that is mapped at a time
+     */
+    MappedCSVDataLoader(long windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive, but was " + windowSize);
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Load the data for the given Resource
+     *
+     * @param resource the resource to load the data from
+     * @return the data keyed by the method name
+     */
+    @Override
+    public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+        File file = toFile(resource);
+        if (file == null) {
+            LOG.debug("Resource {} is not a file, loading it using the CSVDataLoader", resource.getResourceName());
+            return super.loadData(resource);
+        }
+        return loadData(file, null, resource);
+    }
+
+    /**
+     * Load the rows of the given test method from the given Resource. Only the first field of the records of the other
+     * methods is decoded.
+     *
+     * @param resource the resource to load the data from
+     * @param methodName the name of the test method
+     * @return the rows of the method, or null if the resource has no rows for the method
+     */
+    public List<Map<String, Object>> loadMethodData(Resource resource, String methodName) {
+        File file = toFile(resource);
+        Map<String, List<Map<String, Object>>> result;
+        if (file == null) {
+            LOG.debug("Resource {} is not a file, loading it using the CSVDataLoader", resource.getResourceName());
+            result = super.loadData(resource);
+        } else {
+            result = loadData(file, methodName, resource);
+        }
+        return result != null ? result.get(methodName) : null;
+    }
+
+    private Map<String, List<Map<String, Object>>> loadData(File file, String methodName, Resource resource) {
+        Map<String, List<Map<String, Object>>> result = null;
+        try {
+            result = loadFromFile(file, methodName, windowSize);
+        } catch (IOException e) {
+            LOG.error("IOException occured while trying to Load the resource {} . Moving to the next resource.",
+                resource.getResourceName(), e);
+        }
+        return result;
+    }
+
+    private static File toFile(Resource resource) {
+        try {
+            File file = resource.getFile();
+            return file != null && file.isFile() ? file : null;
+        } catch (Exception e) {
+            return null;
+        } catch (AssertionError e) {
+            // thrown by the resources whose URL is not a valid URI
+            return null;
+        }
+    }
+
+    private static Map<String, List<Map<String, Object>>> loadFromFile(File file, String methodName, long windowSize)
+        throws IOException {
+        Map<String, List<Map<String, Object>>> data = new HashMap<String, List<Map<String, Object>>>();
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            RecordReader reader = new RecordReader(randomAccessFile.getChannel(), windowSize);
+            String[] keys = null;
+            List<Map<String, Object>> dataValues = null;
+            List<String> values = new ArrayList<String>();
+            boolean skipping = false;
+            while (reader.readRecord(values, skipping)) {
+                if (!"".equals(values.get(0))) {
+                    skipping = methodName != null && !methodName.equals(values.get(0));
+                    if (skipping) {
+                        dataValues = null;
+                        continue;
+                    }
+                    keys = values.toArray(new String[values.size()]);
+                    dataValues = new ArrayList<Map<String, Object>>();
+                    data.put(keys[0], dataValues);
+                } else if (dataValues != null) {
+                    Map<String, Object> actualData = new HashMap<String, Object>((values.size() * 4 + 2) / 3);
+                    for (int i = 1; i < values.size(); i++) {
+                        actualData.put(i < keys.length ? keys[i] : null, normalize(values.get(i)));
+                    }
+                    dataValues.add(actualData);
+                }
+            }
+        } finally {
+            randomAccessFile.close();
+        }
+        return data;
+    }
+
+    /**
+     * Normalize the string that is read from a CSV file for JSON conversion if required, the same way the
+     * {@link CSVDataLoader} does
+     *
+     * @param value the string to normalize
+     * @return the normalized string
+     */
+    private static String normalize(String value) {
+        return value.replace('\'', '"').replace('&', ',');
+    }
+
+    /**
+     * Reads the records of a mapped CSV file, with the same rules as the CsvReader used by the {@link CSVDataLoader} :
+     * fields are separated by commas, the unquoted fields are trimmed, a quote in a quoted field is escaped by a second
+     * quote and empty records are skipped.
+     */
+    private static class RecordReader {
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        private final long windowSize;
+
+        private final Charset charset = Charset.defaultCharset();
+
+        private MappedByteBuffer window;
+
+        private long windowStart;
+
+        private byte[] field = new byte[256];
+
+        RecordReader(FileChannel channel, long windowSize) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.windowSize = windowSize;
+            map(byteOrderMarkLength());
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+        }
+
+        /**
+         * @return the length of the UTF-8 byte order mark the file starts with, if any
+         */
+        private long byteOrderMarkLength() throws IOException {
+            ByteBuffer head = ByteBuffer.allocate(3);
+            while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+                // read until the first three bytes are read or the end of the file is reached
+            }
+            return head.position() == 3 && head.get(0) == (byte) 0xEF && head.get(1) == (byte) 0xBB
+                && head.get(2) == (byte) 0xBF ? 3 : 0;
+        }
+
+        /**
+         * @return the next byte, or -1 at the end of the file
+         */
+        private int next() throws IOException {
+            if (!window.hasRemaining()) {
+                long position = windowStart + window.limit();
+                if (position >= size) {
+                    return -1;
+                }
+                map(position);
+            }
+            return window.get() & 0xFF;
+        }
+
+        /**
+         * Read the next non empty record
+         *
+         * @param values the list to fill with the fields of the record
+         * @param skipRows whether only the first field of a record is decoded when it is empty, that is when the record
+         *            is a row rather than the column names of a method
+         * @return false at the end of the file
+         */
+        boolean readRecord(List<String> values, boolean skipRows) throws IOException {
+            values.clear();
+            int b = next();
+            while (b == CR || b == LF) {
+                b = next();
+            }
+            if (b == -1) {
+                return false;
+            }
+            while (true) {
+                int length = 0;
+                while (b == ' ' || b == '\t') {
+                    b = next();
+                }
+                if (b == QUOTE) {
+                    b = next();
+                    while (b != -1) {
+                        if (b == QUOTE) {
+                            b = next();
+                            if (b != QUOTE) {
+                                break;
+                            }
+                        }
+                        length = append(length, b);
+                        b = next();
+                    }
+                    // whitespace after the closing quote is skipped, any other text is kept
+                    while (b != -1 && b != COMMA_SEPARATOR && b != CR && b != LF) {
+                        if (b != ' ' && b != '\t') {
+                            length = append(length, b);
+                        }
+                        b = next();
+                    }
+                } else {
+                    while (b != -1 && b != COMMA_SEPARATOR && b != CR && b != LF) {
+                        length = append(length, b);
+                        b = next();
+                    }
+                    while (length > 0 && (field[length - 1] == ' ' || field[length - 1] == '\t')) {
+                        length--;
+                    }
+                }
+                if (!skipRows || values.size() != 1 || !"".equals(values.get(0))) {
+                    values.add(new String(field, 0, length, charset));
+                }
+                if (b != COMMA_SEPARATOR) {
+                    return true;
+                }
+                b = next();
+            }
+        }
+
+        private int append(int length, int b) {
+            if (length == field.length) {
+                field = Arrays.copyOf(field, length * 2);
+            }
+            field[length] = (byte) b;
+            return length + 1;
+        }
+    }
+
+}
@@ -0,0 +1,333 @@
+package org.easetech.easytest.loader;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.TestPolicy;
+import org.easetech.easytest.io.EmptyResource;
+import org.easetech.easytest.io.Resource;
+import org.easetech.easytest.io.ResourceLoader;
+import org.easetech.easytest.io.ResourceLoaderStrategy;
+import org.easetech.easytest.util.DataContext;
+import org.easetech.easytest.util.TestInfo;
+import org.junit.Assert;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the test data of a single test method, for eg. on demand instead of loading the data of all the test methods
+ * when the runner is constructed. The data is looked up in the same places and in the same order as
+ * {@link DataLoaderUtil#loadData(Class, FrameworkMethod, TestClass, Map)} does : the {@link DataLoader} of the
+ * {@link TestPolicy} class, of the test class and finally of the test method. Of every loaded file, only the rows of
+ * the given method are put in the {@link DataContext} and in the writable data. {@link #release(FrameworkMethod)}
+ * removes them from the {@link DataContext} again once the method has run, and from the writable data as well if they
+ * are not written back to the test data files.
+ * <br>
+ * A file shared by several test methods is parsed once, and then kept through a {@link SoftReference} so that the
+ * other methods of the same run can reuse it for as long as the memory allows. If the {@link DatasetCache} is enabled,
+ * the files are read from the cache instead of being parsed, and if the {@link SharedDatasetCache} is enabled, the test
+ * classes of the JVM share a single read-only copy of the files they have in common.
+ * <br>
+ * When the data is loaded one test method at a time, and neither cache is enabled, the files of a
+ * {@link MethodRowsLoader} are read again for every method, and only the rows of the method are built and kept. The
+ * files of the other loaders are parsed whole and shared through the {@link SoftReference} as above.
+ * <br>
+ * If a {@link RowSelection} or a {@link RowShard} is set, only the selected rows of a method are put in the
+ * {@link DataContext}, so that no test method is ever created for the other rows.
+ *
+ */
+public class MethodDataLoader {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(MethodDataLoader.class);
+
+    /**
+     * The class under test
+     */
+    private final TestClass testClass;
+
+    /**
+     * The data to be written back to the test data files
+     */
+    private final Map<String, List<Map<String, Object>>> writableData;
+
+    /**
+     * The data of the files parsed so far, keyed by loader class and resource
+     */
+    private final Map<String, SoftReference<Map<String, List<Map<String, Object>>>>> parsedFiles = new ConcurrentHashMap<String, SoftReference<Map<String, List<Map<String, Object>>>>>();
+
+    /**
+     * The cache of the parsed files shared by the test runs, or null if it is disabled
+     */
+    private final DatasetCache datasetCache = DatasetCache.getInstance();
+
+    /**
+     * The cache of the parsed files shared by the test classes of the JVM, or null if it is disabled
+     */
+    private final SharedDatasetCache sharedDatasetCache = SharedDatasetCache.getInstance();
+
+    /**
+     * The selection of the rows to run, or null if all the rows are run
+     */
+    private final RowSelection rowSelection = RowSelection.getInstance();
+
+    /**
+     * The shard of the rows run by this JVM, or null if the rows are not sharded
+     */
+    private final RowShard rowShard = RowShard.getInstance();
+
+    /**
+     * The methods none of the rows of which are selected by the {@link RowSelection} or belong to the
+     * {@link RowShard}
+     */
+    private final Map<String, Boolean> deselectedMethods = new ConcurrentHashMap<String, Boolean>();
+
+    /**
+     * Whether the data is loaded one test method at a time, right before the method runs
+     */
+    private final boolean lazy;
+
+    /**
+     * Construct a new MethodDataLoader that loads the data of all the test methods up front
+     *
+     * @param testClass the class under test
+     * @param writableData the data to be written back to the test data files
+     */
+    public MethodDataLoader(TestClass testClass, Map<String, List<Map<String, Object>>> writableData) {
+        this(testClass, writableData, false);
+    }
+
+    /**
+     * Construct a new MethodDataLoader
+     *
+     * @param testClass the class under test
+     * @param writableData the data to be written back to the test data files
+     * @param lazy whether the data is loaded one test method at a time, right before the method runs
+     */
+    public MethodDataLoader(TestClass testClass, Map<String, List<Map<String, Object>>> writableData, boolean lazy) {
+        this.testClass = testClass;
+        this.writableData = writableData;
+        this.lazy = lazy;
+    }
+
+    /**
+     * Load the test data of the given method
+     *
+     * @param method the test method
+     * @return true if the method runs with test data, false if it runs without
+     */
+    public boolean load(FrameworkMethod method) {
+        Class<?> javaClass = testClass.getJavaClass();
+        List<Map<String, Object>> rows = null;
+        TestPolicy testPolicy = javaClass.getAnnotation(TestPolicy.class);
+        if (testPolicy != null) {
+            rows = load(testPolicy.value().getAnnotation(DataLoader.class), method, rows);
+        }
+        rows = load(javaClass.getAnnotation(DataLoader.class), method, rows);
+        DataLoader methodDataLoader = method.getAnnotation(DataLoader.class);
+        if (methodDataLoader != null) {
+            rows = load(methodDataLoader, method, rows);
+        }
+        putMethodData(rows, method);
+        if (methodDataLoader != null) {
+            return true;
+        }
+        boolean withData = method.getMethod().getParameterTypes().length != 0
+            && DataLoaderUtil.isMethodDataLoaded(DataConverter.getFullyQualifiedTestName(method.getName(), javaClass));
+        if (!withData && rowShard != null && !rowShard.owns(method.getName())) {
+            deselectedMethods.put(method.getName(), Boolean.TRUE);
+        }
+        return withData;
+    }
+
+    /**
+     * Whether none of the rows of the given method are selected by the {@link RowSelection} or belong to the
+     * {@link RowShard}, in which case the method is not run at all
+     *
+     * @param method the test method, the data of which has been loaded
+     * @return true if all the rows of the method were left out
+     */
+    public boolean isDeselected(FrameworkMethod method) {
+        return deselectedMethods.containsKey(method.getName());
+    }
+
+    /**
+     * Remove the test data of the given method from the {@link DataContext}. The writable data of the method is kept
+     * if it is written back to the test data files, which happens once all the methods have run, and removed
+     * otherwise.
+     *
+     * @param method the test method
+     */
+    public void release(FrameworkMethod method) {
+        if (!isWrittenBack(method)) {
+            writableData.remove(method.getName());
+        }
+        String methodName = DataConverter.getFullyQualifiedTestName(method.getName(), testClass.getJavaClass());
+        Map<String, List<Map<String, Object>>> data = DataContext.getData();
+        if (data != null) {
+            data.remove(methodName);
+        }
+        Map<String, List<Map<String, Object>>> convertedData = DataContext.getConvertedData();
+        if (convertedData != null) {
+            String rowPrefix = methodName.concat("{");
+            for (Iterator<String> keys = convertedData.keySet().iterator(); keys.hasNext();) {
+                if (keys.next().startsWith(rowPrefix)) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the data of the given method is written back to the test data files, as decided by the
+     * {@link DataLoader} the runner writes the data back with : the one of the method, or else the one of the test
+     * class
+     */
+    private boolean isWrittenBack(FrameworkMethod method) {
+        DataLoader dataLoaderAnnotation = method.getAnnotation(DataLoader.class);
+        if (dataLoaderAnnotation == null) {
+            dataLoaderAnnotation = testClass.getJavaClass().getAnnotation(DataLoader.class);
+        }
+        if (dataLoaderAnnotation == null) {
+            return false;
+        }
+        TestInfo testInfo = DataLoaderUtil.determineLoader(dataLoaderAnnotation, testClass);
+        return testInfo.getWriteData() && testInfo.getFilePaths() != null && testInfo.getDataLoader() != null;
+    }
+
+    private List<Map<String, Object>> load(DataLoader dataLoaderAnnotation, FrameworkMethod method,
+        List<Map<String, Object>> rows) {
+        if (dataLoaderAnnotation == null) {
+            return rows;
+        }
+        TestInfo testInfo = DataLoaderUtil.determineLoader(dataLoaderAnnotation, testClass);
+        Loader dataLoader = testInfo.getDataLoader();
+        if (dataLoader == null) {
+            Assert.fail("The framework currently does not support the specified Loader type. "
+                + "You can provide the custom Loader by choosing LoaderType.CUSTOM in TestData "
+                + "annotation and providing your custom loader using DataLoader annotation.");
+        }
+        boolean appendData = dataLoaderAnnotation.appendData();
+        if (testInfo.getFilePaths() == null || testInfo.getFilePaths().length == 0) {
+            // implies that there exists a CUSTOM loader that loads the data using Java classes
+            rows = addRows(rows, methodRows(dataLoader, new EmptyResource(), method), appendData);
+        } else {
+            ResourceLoader resourceLoader = new ResourceLoaderStrategy(testClass.getJavaClass());
+            for (String filePath : testInfo.getFilePaths()) {
+                Resource resource = resourceLoader.getResource(filePath);
+                if (resource.exists()) {
+                    rows = addRows(rows, methodRows(dataLoader, resource, method), appendData);
+                } else {
+                    LOG.warn(
+                        "Resource {} does not exists in the specified path. If it is a classpath resource, use 'classpath:' "
+                            + "before the path name, else check the path.", resource);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Get the rows of the given method found in a file
+     *
+     * @param dataLoader the loader of the file
+     * @param resource the file
+     * @param method the test method
+     * @return the rows of the method, or null if the file has none
+     */
+    private List<Map<String, Object>> methodRows(Loader dataLoader, Resource resource, FrameworkMethod method) {
+        if (lazy && dataLoader instanceof MethodRowsLoader && datasetCache == null && sharedDatasetCache == null) {
+            try {
+                return ((MethodRowsLoader) dataLoader).loadMethodData(resource, method.getName());
+            } catch (Exception e) {
+                LOG.error("Exception occured while trying to load the data for resource {}", resource, e);
+                throw new RuntimeException(e);
+            }
+        }
+        Map<String, List<Map<String, Object>>> data = parse(dataLoader, resource);
+        return data != null ? data.get(method.getName()) : null;
+    }
+
+    private Map<String, List<Map<String, Object>>> parse(Loader dataLoader, Resource resource) {
+        String key = dataLoader.getClass().getName() + ":" + resource.getResourceName();
+        SoftReference<Map<String, List<Map<String, Object>>>> parsedFile = parsedFiles.get(key);
+        Map<String, List<Map<String, Object>>> data = parsedFile != null ? parsedFile.get() : null;
+        if (data == null) {
+            if (sharedDatasetCache != null) {
+                data = sharedDatasetCache.get(dataLoader, resource);
+            }
+            if (data == null) {
+                try {
+                    data = datasetCache != null ? datasetCache.loadData(dataLoader, resource) : dataLoader
+                        .loadData(resource);
+                } catch (Exception e) {
+                    LOG.error("Exception occured while trying to load the data for resource {}", resource, e);
+                    throw new RuntimeException(e);
+                }
+                if (sharedDatasetCache != null) {
+                    data = sharedDatasetCache.put(dataLoader, resource, data);
+                }
+            }
+            parsedFiles.put(key, new SoftReference<Map<String, List<Map<String, Object>>>>(data));
+        }
+        return data;
+    }
+
+    /**
+     * Add the rows of the given method found in a file to the rows loaded so far
+     *
+     * @param rows the rows loaded so far, or null if none
+     * @param fileRows the rows of the method found in the file, or null if none
+     * @param appendData whether the rows of the file are appended to the rows loaded so far, or replace them
+     * @return the rows of the method
+     */
+    private static List<Map<String, Object>> addRows(List<Map<String, Object>> rows,
+        List<Map<String, Object>> fileRows, boolean appendData) {
+        if (fileRows == null) {
+            return rows;
+        }
+        // the list is copied as the parsed file may be reused by another method
+        if (!appendData || rows == null) {
+            return new ArrayList<Map<String, Object>>(fileRows);
+        }
+        rows.addAll(fileRows);
+        return rows;
+    }
+
+    private void putMethodData(List<Map<String, Object>> rows, FrameworkMethod method) {
+        if (rows == null) {
+            return;
+        }
+        boolean selected = rowSelection != null && rowSelection.appliesTo(method.getName());
+        if (selected) {
+            rows = rowSelection.select(method.getName(), rows);
+        }
+        if (rowShard != null) {
+            rows = rowShard.select(method.getName(), rows);
+        }
+        if (selected || rowShard != null) {
+            // the data of the method is not written back, as only some of its rows run
+            if (rows.isEmpty()) {
+                deselectedMethods.put(method.getName(), Boolean.TRUE);
+                return;
+            }
+        } else {
+            writableData.put(method.getName(), new ArrayList<Map<String, Object>>(rows));
+        }
+        Map<String, List<Map<String, Object>>> methodData = new HashMap<String, List<Map<String, Object>>>();
+        methodData.put(method.getName(), rows);
+        Class<?> javaClass = testClass.getJavaClass();
+        DataContext.setData(DataConverter.appendClassName(methodData, javaClass), false);
+        DataContext.setConvertedData(DataConverter.convert(methodData, javaClass), false);
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.easetech.easytest.loader;
+
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.io.Resource;
+
+/**
+ * A {@link Loader} that can read the rows of a single test method out of a file. The rows of the other test methods
+ * are skipped while the file is read, so that only the rows of the given method are ever built. This is used by the
+ * {@link MethodDataLoader} when the test data is loaded one test method at a time, see
+ * {@link org.easetech.easytest.annotation.LazyDataLoading}.
+ *
+ */
+public interface MethodRowsLoader extends Loader {
+
+    /**
+     * Load the rows of the given test method from the given Resource
+     *
+     * @param resource the resource to load the data from
+     * @param methodName the name of the test method
+     * @return the rows of the method, or null if the resource has no rows for the method
+     */
+    List<Map<String, Object>> loadMethodData(Resource resource, String methodName);
+
+}
@@ -0,0 +1,267 @@
+package org.easetech.easytest.loader;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A selection of the rows of test data to run, so that a few rows of a large data file can be run again without
+ * running, or even creating, the test methods of all the other rows. The rows that are not selected are left out as
+ * soon as the data of a method is loaded.
+ * <br>
+ * The selection is set with the "test.rowSelection" system property, for eg. :
+ * <br>
+ * <code>
+ * -Dtest.rowSelection=getItems:12000-12050
+ * </code>
+ * <br>
+ * The property holds one or more groups separated by a semicolon. A group is an optional test method name followed by
+ * a colon, and a comma separated list of selectors. A group without a method name applies to all the test methods.
+ * The selectors are :
+ * <ul>
+ * <li><B>12000</B> or <B>12000-12050</B> : the rows at the given index, or in the given range of indexes, both
+ * included. The first row of a method has the index 0.</li>
+ * <li><B>itemId=2600</B> : the rows whose value of the given column is the given value</li>
+ * <li><B>#3f2a9c</B> : the rows whose data hash, as computed by {@link #hashOf(Map)}, starts with the given
+ * hexadecimal digits</li>
+ * </ul>
+ * A row is selected if any of the selectors of the method matches it. The rows keep the order of the data file. The data
+ * of a method whose rows are selected is not written back to the test data files, as the output of the rows that were
+ * left out is not known.
+ *
+ */
+public class RowSelection {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(RowSelection.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The selectors that apply to all the test methods
+     */
+    private final List<Selector> allMethods = new ArrayList<Selector>();
+
+    /**
+     * The selectors of the test methods, keyed by the method name
+     */
+    private final Map<String, List<Selector>> methods = new TreeMap<String, List<Selector>>();
+
+    /**
+     * Construct a new RowSelection
+     *
+     * @param selection the selection, in the format of the "test.rowSelection" system property
+     */
+    public RowSelection(String selection) {
+        for (String group : selection.split(";")) {
+            group = group.trim();
+            if (group.length() == 0) {
+                continue;
+            }
+            List<Selector> selectors = allMethods;
+            int colon = group.indexOf(':');
+            int equals = group.indexOf('=');
+            if (colon > 0 && (equals < 0 || colon < equals)) {
+                String methodName = group.substring(0, colon).trim();
+                selectors = methods.get(methodName);
+                if (selectors == null) {
+                    selectors = new ArrayList<Selector>();
+                    methods.put(methodName, selectors);
+                }
+                group = group.substring(colon + 1);
+            }
+            for (String selector : group.split(",")) {
+                selector = selector.trim();
+                if (selector.length() != 0) {
+                    selectors.add(parseSelector(selector));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the selection set with the "test.rowSelection" system property
+     *
+     * @return the selection, or null if all the rows are run
+     */
+    public static RowSelection getInstance() {
+        String selection = System.getProperty(SpringSystemProperties.ROW_SELECTION.getValue());
+        if (selection == null || "".equals(selection.trim())) {
+            return null;
+        }
+        return new RowSelection(selection);
+    }
+
+    /**
+     * Whether the rows of the given test method are selected
+     *
+     * @param methodName the name of the test method
+     * @return true if only some of the rows of the method are run, false if all of them are
+     */
+    public boolean appliesTo(String methodName) {
+        return !allMethods.isEmpty() || methods.containsKey(methodName);
+    }
+
+    /**
+     * Select the rows of the given test method
+     *
+     * @param methodName the name of the test method
+     * @param rows all the rows of the method
+     * @return the selected rows, in the order of the given rows
+     */
+    public List<Map<String, Object>> select(String methodName, List<Map<String, Object>> rows) {
+        List<Selector> selectors = new ArrayList<Selector>(allMethods);
+        if (methods.containsKey(methodName)) {
+            selectors.addAll(methods.get(methodName));
+        }
+        if (selectors.isEmpty()) {
+            return rows;
+        }
+        boolean hashed = false;
+        for (Selector selector : selectors) {
+            hashed |= selector.hashPrefix != null;
+        }
+        List<Map<String, Object>> selectedRows = new ArrayList<Map<String, Object>>();
+        for (int index = 0; index < rows.size(); index++) {
+            Map<String, Object> row = rows.get(index);
+            String hash = hashed || LOG.isTraceEnabled() ? hashOf(row) : null;
+            if (hash != null) {
+                LOG.trace("Row {} of the method {} has the data hash {}", new Object[] { Integer.valueOf(index),
+                    methodName, hash });
+            }
+            for (Selector selector : selectors) {
+                if (selector.matches(index, row, hash)) {
+                    selectedRows.add(row);
+                    break;
+                }
+            }
+        }
+        LOG.info("Selected {} of the {} rows of the method {}", new Object[] { Integer.valueOf(selectedRows.size()),
+            Integer.valueOf(rows.size()), methodName });
+        return selectedRows;
+    }
+
+    /**
+     * Compute the data hash of a row : the SHA-1 digest of its entries sorted by their key, in hexadecimal. The hash of
+     * a row does not depend on the order of its columns, nor on the JVM it is computed in.
+     *
+     * @param row the row of test data
+     * @return the data hash of the row
+     */
+    public static String hashOf(Map<String, Object> row) {
+        Map<String, Object> sortedRow = new TreeMap<String, Object>();
+        Object nullKeyValue = null;
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if (entry.getKey() == null) {
+                nullKeyValue = entry.getValue();
+            } else {
+                sortedRow.put(entry.getKey(), entry.getValue());
+            }
+        }
+        StringBuilder data = new StringBuilder();
+        if (nullKeyValue != null) {
+            data.append("=").append(nullKeyValue).append('\n');
+        }
+        for (Map.Entry<String, Object> entry : sortedRow.entrySet()) {
+            data.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(data.toString().getBytes(UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        char[] hash = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hash[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0x0F];
+            hash[i * 2 + 1] = HEX_DIGITS[digest[i] & 0x0F];
+        }
+        return new String(hash);
+    }
+
+    @Override
+    public String toString() {
+        return "RowSelection [allMethods=" + allMethods + ", methods=" + methods + "]";
+    }
+
+    private static Selector parseSelector(String selector) {
+        if (selector.startsWith("#")) {
+            return new Selector(-1, -1, null, null, selector.substring(1).trim().toLowerCase());
+        }
+        int equals = selector.indexOf('=');
+        if (equals > 0) {
+            return new Selector(-1, -1, selector.substring(0, equals).trim(), selector.substring(equals + 1).trim(),
+                null);
+        }
+        int dash = selector.indexOf('-', 1);
+        try {
+            if (dash > 0) {
+                return new Selector(Integer.parseInt(selector.substring(0, dash).trim()), Integer.parseInt(selector
+                    .substring(dash + 1).trim()), null, null, null);
+            }
+            int index = Integer.parseInt(selector);
+            return new Selector(index, index, null, null, null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid row selector '" + selector
+                + "'. Expected a row index, a range of row indexes, column=value or #hash.", e);
+        }
+    }
+
+    /**
+     * Selects rows by index range, by column value or by data hash
+     */
+    private static final class Selector {
+
+        private final int fromIndex;
+
+        private final int toIndex;
+
+        private final String column;
+
+        private final String value;
+
+        private final String hashPrefix;
+
+        Selector(int fromIndex, int toIndex, String column, String value, String hashPrefix) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.column = column;
+            this.value = value;
+            this.hashPrefix = hashPrefix;
+        }
+
+        boolean matches(int index, Map<String, Object> row, String hash) {
+            if (hashPrefix != null) {
+                return hash.startsWith(hashPrefix);
+            }
+            if (column != null) {
+                Object columnValue = row.get(column);
+                return columnValue != null && value.equals(columnValue.toString());
+            }
+            return index >= fromIndex && index <= toIndex;
+        }
+
+        @Override
+        public String toString() {
+            if (hashPrefix != null) {
+                return "#" + hashPrefix;
+            }
+            if (column != null) {
+                return column + "=" + value;
+            }
+            return fromIndex == toIndex ? String.valueOf(fromIndex) : fromIndex + "-" + toIndex;
+        }
+    }
+
+}
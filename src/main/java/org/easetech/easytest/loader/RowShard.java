@@ -0,0 +1,131 @@
+package org.easetech.easytest.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A shard of the rows of test data, so that the rows of a single test class can be spread over several JVMs, for eg.
+ * the jobs of a CI build. Every row is assigned to a shard by its data hash, as computed by
+ * {@link RowSelection#hashOf(Map)}, so every JVM that runs the same data computes the same partition without having to
+ * agree on anything else. A test method without test data runs in the shard of its name.
+ * <br>
+ * The shard is set with the "test.shardIndex" and "test.shardCount" system properties, the shard index going from 1 to
+ * the shard count. Every shard must run every test class, otherwise the rows of the other shards never run. Shards are
+ * therefore meant for parallel CI jobs that each run the whole build, for eg. a job per shard running
+ * <code>mvn test -Dtest.shardIndex=1 -Dtest.shardCount=2</code>, and so on. The forks of a single surefire execution
+ * each run a different subset of the test classes, so they cannot be used as shards.
+ * <br>
+ * As with the {@link RowSelection}, the data of a sharded test method is not written back to the test data files.
+ *
+ */
+public class RowShard {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(RowShard.class);
+
+    /**
+     * The index of this shard, from 1 to the shard count
+     */
+    private final int shardIndex;
+
+    /**
+     * The number of shards
+     */
+    private final int shardCount;
+
+    /**
+     * Construct a new RowShard
+     *
+     * @param shardIndex the index of this shard, from 1 to the shard count
+     * @param shardCount the number of shards
+     */
+    public RowShard(int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 1 || shardIndex > shardCount) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount
+                + ". The shard index must be between 1 and the shard count.");
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Get the shard set with the "test.shardIndex" and "test.shardCount" system properties
+     *
+     * @return the shard, or null if the rows are not sharded
+     */
+    public static RowShard getInstance() {
+        String shardCount = System.getProperty(SpringSystemProperties.SHARD_COUNT.getValue());
+        if (shardCount == null || "".equals(shardCount.trim())) {
+            return null;
+        }
+        String shardIndex = System.getProperty(SpringSystemProperties.SHARD_INDEX.getValue());
+        if (shardIndex == null || "".equals(shardIndex.trim())) {
+            throw new IllegalArgumentException("The system property "
+                + SpringSystemProperties.SHARD_INDEX.getValue() + " must be set together with "
+                + SpringSystemProperties.SHARD_COUNT.getValue());
+        }
+        return new RowShard(Integer.parseInt(shardIndex.trim()), Integer.parseInt(shardCount.trim()));
+    }
+
+    /**
+     * Select the rows of the given test method that belong to this shard
+     *
+     * @param methodName the name of the test method
+     * @param rows all the rows of the method
+     * @return the rows of this shard, in the order of the given rows
+     */
+    public List<Map<String, Object>> select(String methodName, List<Map<String, Object>> rows) {
+        if (shardCount == 1) {
+            return rows;
+        }
+        List<Map<String, Object>> shardRows = new ArrayList<Map<String, Object>>(rows.size() / shardCount + 1);
+        for (Map<String, Object> row : rows) {
+            if (shardOf(RowSelection.hashOf(row)) == shardIndex) {
+                shardRows.add(row);
+            }
+        }
+        LOG.info("Shard {} of {} runs {} of the {} rows of the method {}", new Object[] { Integer.valueOf(shardIndex),
+            Integer.valueOf(shardCount), Integer.valueOf(shardRows.size()), Integer.valueOf(rows.size()), methodName });
+        return shardRows;
+    }
+
+    /**
+     * Whether a test method without test data runs in this shard
+     *
+     * @param methodName the name of the test method
+     * @return true if the method runs in this shard
+     */
+    public boolean owns(String methodName) {
+        return shardCount == 1 || (methodName.hashCode() & Integer.MAX_VALUE) % shardCount + 1 == shardIndex;
+    }
+
+    /**
+     * @return the index of this shard, from 1 to the shard count
+     */
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RowShard [shardIndex=" + shardIndex + ", shardCount=" + shardCount + "]";
+    }
+
+    private int shardOf(String hash) {
+        return (int) (Long.parseLong(hash.substring(0, 8), 16) % shardCount) + 1;
+    }
+
+}
@@ -0,0 +1,258 @@
+package org.easetech.easytest.loader;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache in memory of the parsed test data files, shared by all the test classes run by the same JVM. Test classes
+ * that load the same files then share a single read-only copy of their data instead of parsing them again and holding
+ * a copy each.
+ * <br>
+ * The size of the cache is bounded by the total number of values, that is the sum of the number of entries of every
+ * cached row. When adding a file would exceed the bound, the least recently used files are evicted first. A file that
+ * is larger than the bound on its own is never cached. The cache is enabled by setting the
+ * "test.sharedDatasetCacheSize" system property to the maximum number of values.
+ * <br>
+ * A file is cached together with its size and last modification time, so that data written back to a file by a test
+ * class is read again by the test classes that follow, exactly as without the cache. Resources that are neither a
+ * file nor a URL, as used by custom loaders that build their data in code, are not cached.
+ *
+ */
+public class SharedDatasetCache {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(SharedDatasetCache.class);
+
+    /**
+     * The instance configured with the system property, created on first use
+     */
+    private static SharedDatasetCache instance;
+
+    /**
+     * The cached data, from the least to the most recently used
+     */
+    private final LinkedHashMap<String, CachedDataset> datasets = new LinkedHashMap<String, CachedDataset>(16, 0.75f,
+        true);
+
+    /**
+     * The maximum number of values held by the cache
+     */
+    private final long maximumWeight;
+
+    /**
+     * The number of values currently held by the cache
+     */
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Construct a new SharedDatasetCache
+     *
+     * @param maximumWeight the maximum number of values held by the cache
+     */
+    public SharedDatasetCache(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Get the cache configured with the "test.sharedDatasetCacheSize" system property
+     *
+     * @return the cache, or null if the cache is disabled
+     */
+    public static synchronized SharedDatasetCache getInstance() {
+        String cacheSize = System.getProperty(SpringSystemProperties.SHARED_DATASET_CACHE_SIZE.getValue());
+        if (cacheSize == null || "".equals(cacheSize)) {
+            return null;
+        }
+        if (instance == null) {
+            long maximumWeight = Long.parseLong(cacheSize.trim());
+            if (maximumWeight <= 0) {
+                return null;
+            }
+            instance = new SharedDatasetCache(maximumWeight);
+        }
+        return instance;
+    }
+
+    /**
+     * Get the cached data of the given resource
+     *
+     * @param dataLoader the loader of the resource
+     * @param resource the resource
+     * @return the read-only data, or null if it is not cached
+     */
+    public Map<String, List<Map<String, Object>>> get(Loader dataLoader, Resource resource) {
+        String key = keyOf(dataLoader, resource);
+        if (key == null) {
+            return null;
+        }
+        synchronized (this) {
+            CachedDataset dataset = datasets.get(key);
+            if (dataset == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            return dataset.data;
+        }
+    }
+
+    /**
+     * Add the data of the given resource to the cache
+     *
+     * @param dataLoader the loader of the resource
+     * @param resource the resource
+     * @param data the data loaded from the resource
+     * @return the read-only data now held by the cache, or the given data if it cannot be cached
+     */
+    public Map<String, List<Map<String, Object>>> put(Loader dataLoader, Resource resource,
+        Map<String, List<Map<String, Object>>> data) {
+        String key = keyOf(dataLoader, resource);
+        if (key == null || data == null) {
+            return data;
+        }
+        CachedDataset dataset = new CachedDataset(data);
+        if (dataset.weight > maximumWeight) {
+            LOG.debug("Not caching the data of the resource {} as its {} values exceed the size of the cache",
+                resource, Long.valueOf(dataset.weight));
+            return data;
+        }
+        synchronized (this) {
+            CachedDataset existing = datasets.get(key);
+            if (existing != null) {
+                return existing.data;
+            }
+            datasets.put(key, dataset);
+            weight += dataset.weight;
+            for (Iterator<CachedDataset> iter = datasets.values().iterator(); weight > maximumWeight && iter.hasNext();) {
+                weight -= iter.next().weight;
+                iter.remove();
+                evictionCount++;
+            }
+        }
+        return dataset.data;
+    }
+
+    /**
+     * Remove all the cached data. The statistics are kept.
+     */
+    public synchronized void clear() {
+        datasets.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return the number of times cached data was found
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times data was looked up but not found
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of files evicted to keep the cache within its size
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of files currently cached
+     */
+    public synchronized int getSize() {
+        return datasets.size();
+    }
+
+    /**
+     * @return the number of values currently held by the cache
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the maximum number of values held by the cache
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SharedDatasetCache [size=" + datasets.size() + ", weight=" + weight + ", maximumWeight="
+            + maximumWeight + ", hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+            + evictionCount + "]";
+    }
+
+    private static String keyOf(Loader dataLoader, Resource resource) {
+        String loaderName = dataLoader.getClass().getName();
+        File file = null;
+        try {
+            file = resource.getFile();
+        } catch (Exception e) {
+            // not a file, the URL is used below
+        } catch (AssertionError e) {
+            // thrown by the resources whose URL is not a valid URI
+        }
+        if (file != null && file.isFile()) {
+            return loaderName + "|" + file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified();
+        }
+        URL url = resource.getURL();
+        return url != null ? loaderName + "|" + url : null;
+    }
+
+    /**
+     * The read-only data of a file and its weight
+     */
+    private static final class CachedDataset {
+
+        private final Map<String, List<Map<String, Object>>> data;
+
+        private final long weight;
+
+        CachedDataset(Map<String, List<Map<String, Object>>> source) {
+            Map<String, List<Map<String, Object>>> methods = new HashMap<String, List<Map<String, Object>>>();
+            long values = 0;
+            for (Map.Entry<String, List<Map<String, Object>>> method : source.entrySet()) {
+                List<Map<String, Object>> rows = method.getValue();
+                if (rows == null) {
+                    methods.put(method.getKey(), null);
+                    continue;
+                }
+                List<Map<String, Object>> readOnlyRows = new ArrayList<Map<String, Object>>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    readOnlyRows.add(Collections.unmodifiableMap(row));
+                    values += row.size();
+                }
+                methods.put(method.getKey(), Collections.unmodifiableList(readOnlyRows));
+            }
+            this.data = Collections.unmodifiableMap(methods);
+            this.weight = values;
+        }
+    }
+
+}
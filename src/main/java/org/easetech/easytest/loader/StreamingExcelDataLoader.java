@@ -0,0 +1,344 @@
+package org.easetech.easytest.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.RKRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.easetech.easytest.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link Loader} for large Excel files. The files have exactly the same structure as the files
+ * read by {@link ExcelDataLoader}, and the values are converted the same way, but instead of building the whole workbook
+ * in memory, this loader reads the records of the first sheet as a stream of events and only keeps the row being read.
+ * The reading stops as soon as the first sheet has been read.
+ * <br>
+ * Use it by specifying the loader explicitly :
+ * <br>
+ * <code>
+ * &#064;DataLoader(filePaths = { "regression.xls" }, loaderType = LoaderType.CUSTOM, loader = StreamingExcelDataLoader.class)
+ * </code>
+ * <br>
+ * Files are read block by block from the disk. Other resources, for eg. files packaged in a jar, are buffered in their
+ * binary form first, which is still only a fraction of the memory taken up by the workbook. Formulas are not evaluated
+ * again : the value Excel stored with the formula is used. The data is written back using the {@link ExcelDataLoader}.
+ * The rows of a single test method can be read using {@link #loadMethodData(Resource, String)}, which drops the rows of
+ * the other methods as soon as they have been read.
+ *
+ */
+public class StreamingExcelDataLoader extends ExcelDataLoader implements MethodRowsLoader {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(StreamingExcelDataLoader.class);
+
+    /**
+     * Load the data for the given Resource
+     *
+     * @param resource the resource to load the data from
+     * @return the data keyed by the method name
+     */
+    @Override
+    public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+        return loadData(resource, null);
+    }
+
+    /**
+     * Load the rows of the given test method from the given Resource. The rows of the other methods are skipped as
+     * they are read.
+     *
+     * @param resource the resource to load the data from
+     * @param methodName the name of the test method
+     * @return the rows of the method, or null if the resource has no rows for the method
+     */
+    public List<Map<String, Object>> loadMethodData(Resource resource, String methodName) {
+        Map<String, List<Map<String, Object>>> result = loadData(resource, methodName);
+        return result != null ? result.get(methodName) : null;
+    }
+
+    private Map<String, List<Map<String, Object>>> loadData(Resource resource, String methodName) {
+        LOG.debug("Trying to load the data for resource :" + resource.getResourceName());
+        Map<String, List<Map<String, Object>>> result = null;
+        try {
+            File file = toFile(resource);
+            NPOIFSFileSystem fileSystem = file != null ? new NPOIFSFileSystem(file, true) : new NPOIFSFileSystem(
+                resource.getInputStream());
+            try {
+                SheetListener sheetListener = new SheetListener(methodName);
+                HSSFRequest request = new HSSFRequest();
+                request.addListenerForAllRecords(sheetListener);
+                new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem.getRoot());
+                result = sheetListener.data;
+            } finally {
+                fileSystem.close();
+            }
+        } catch (IOException e) {
+            LOG.error("IOException occured while trying to Load the resource {} . Moving to the next resource.",
+                resource.getResourceName(), e);
+        } catch (HSSFUserException e) {
+            LOG.error("Exception occured while trying to Load the resource {} . Moving to the next resource.",
+                resource.getResourceName(), e);
+        }
+        return result;
+    }
+
+    private static File toFile(Resource resource) {
+        try {
+            File file = resource.getFile();
+            return file != null && file.isFile() ? file : null;
+        } catch (Exception e) {
+            return null;
+        } catch (AssertionError e) {
+            // thrown by the resources whose URL is not a valid URI
+            return null;
+        }
+    }
+
+    /**
+     * Collects the cells of the first sheet row by row, and turns every completed row into test data
+     */
+    private static class SheetListener extends AbortableHSSFListener {
+
+        /**
+         * The test data read so far
+         */
+        private final Map<String, List<Map<String, Object>>> data = new HashMap<String, List<Map<String, Object>>>();
+
+        /**
+         * The listener that keeps track of the cell formats and signals the end of every row
+         */
+        private final FormatTrackingHSSFListener formatListener;
+
+        /**
+         * The listener that records are passed on to
+         */
+        private final HSSFListener listener;
+
+        /**
+         * The shared strings of the workbook
+         */
+        private SSTRecord sst;
+
+        /**
+         * Whether the dates of the workbook are relative to 1904
+         */
+        private boolean date1904;
+
+        /**
+         * The number of sheets started so far
+         */
+        private int sheets;
+
+        /**
+         * The column indexes and the values of the cells of the current row
+         */
+        private final List<Integer> rowColumns = new ArrayList<Integer>();
+
+        private final List<Object> rowValues = new ArrayList<Object>();
+
+        /**
+         * Whether the last formula cell waits for its String value
+         */
+        private boolean pendingFormulaString;
+
+        /**
+         * The column names of the current method, keyed by the column index
+         */
+        private final Map<Integer, Object> keys = new HashMap<Integer, Object>();
+
+        /**
+         * The column names of the current method, in the order of the columns
+         */
+        private List<String> keyNames = new ArrayList<String>();
+
+        /**
+         * The rows of the current method
+         */
+        private List<Map<String, Object>> dataValues;
+
+        /**
+         * Whether the first sheet has been read
+         */
+        private boolean done;
+
+        /**
+         * The only test method whose rows are kept, or null to keep the rows of all the methods
+         */
+        private final String methodName;
+
+        /**
+         * Whether the rows being read belong to a test method that is not kept
+         */
+        private boolean skipping;
+
+        SheetListener(String methodName) {
+            this.methodName = methodName;
+            formatListener = new FormatTrackingHSSFListener(new HSSFListener() {
+
+                public void processRecord(Record record) {
+                    processCellRecord(record);
+                }
+            });
+            listener = new MissingRecordAwareHSSFListener(formatListener);
+        }
+
+        @Override
+        public short abortableProcessRecord(Record record) {
+            listener.processRecord(record);
+            return (short) (done ? 1 : 0);
+        }
+
+        private void processCellRecord(Record record) {
+            if (record instanceof BOFRecord) {
+                if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                    sheets++;
+                }
+                return;
+            }
+            if (record instanceof SSTRecord) {
+                sst = (SSTRecord) record;
+                return;
+            }
+            if (record instanceof DateWindow1904Record) {
+                date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                return;
+            }
+            if (sheets != 1) {
+                return;
+            }
+            if (record instanceof EOFRecord) {
+                done = true;
+            } else if (record instanceof StringRecord) {
+                if (pendingFormulaString) {
+                    rowValues.set(rowValues.size() - 1, ((StringRecord) record).getString());
+                    pendingFormulaString = false;
+                }
+            } else if (record instanceof LastCellOfRowDummyRecord) {
+                endRow();
+            } else if (record instanceof CellValueRecordInterface) {
+                pendingFormulaString = false;
+                rowColumns.add(Integer.valueOf(((CellValueRecordInterface) record).getColumn()));
+                rowValues.add(valueOf(record));
+            }
+        }
+
+        private Object valueOf(Record record) {
+            if (record instanceof BlankRecord) {
+                return null;
+            } else if (record instanceof LabelSSTRecord) {
+                return sst.getString(((LabelSSTRecord) record).getSSTIndex()).getString();
+            } else if (record instanceof LabelRecord) {
+                return ((LabelRecord) record).getValue();
+            } else if (record instanceof NumberRecord) {
+                return numericValue((CellValueRecordInterface) record, ((NumberRecord) record).getValue());
+            } else if (record instanceof RKRecord) {
+                return numericValue((CellValueRecordInterface) record, ((RKRecord) record).getRKNumber());
+            } else if (record instanceof BoolErrRecord) {
+                BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+                return boolErrRecord.isBoolean() ? Boolean.valueOf(boolErrRecord.getBooleanValue()) : null;
+            } else if (record instanceof FormulaRecord) {
+                FormulaRecord formulaRecord = (FormulaRecord) record;
+                switch (formulaRecord.getCachedResultType()) {
+                    case Cell.CELL_TYPE_NUMERIC:
+                        return Double.valueOf(formulaRecord.getValue());
+                    case Cell.CELL_TYPE_BOOLEAN:
+                        return Boolean.valueOf(formulaRecord.getCachedBooleanValue());
+                    case Cell.CELL_TYPE_STRING:
+                        // the value is held by the StringRecord that follows, if any
+                        pendingFormulaString = formulaRecord.hasCachedResultString();
+                        return pendingFormulaString ? null : "";
+                    default:
+                        return null;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Convert a numeric cell value the same way the {@link ExcelDataLoader} does
+         */
+        private Object numericValue(CellValueRecordInterface cell, double value) {
+            if (DateUtil.isValidExcelDate(value)
+                && DateUtil.isADateFormat(formatListener.getFormatIndex(cell), formatListener.getFormatString(cell))) {
+                return new Date(DateUtil.getJavaDate(value, date1904).getTime());
+            }
+            Object cellValue = Double.valueOf(value);
+            // below is the work around to remove suffix .0 from numeric fields
+            if (cellValue.toString().endsWith(".0")) {
+                cellValue = cellValue.toString().replace(".0", "");
+            }
+            return cellValue;
+        }
+
+        private void endRow() {
+            Object firstCell = !rowColumns.isEmpty() && rowColumns.get(0).intValue() == 0 ? rowValues.get(0) : null;
+            boolean keyRow = firstCell != null && !"".equals(firstCell);
+            if (keyRow) {
+                String name = firstCell.toString().trim();
+                skipping = methodName != null && !methodName.equals(name);
+                dataValues = new ArrayList<Map<String, Object>>();
+                if (!skipping) {
+                    data.put(name, dataValues);
+                }
+                keyNames = new ArrayList<String>();
+                for (int i = 1; i < rowColumns.size(); i++) {
+                    keys.put(rowColumns.get(i), rowValues.get(i));
+                    if (rowValues.get(i) != null) {
+                        keyNames.add(rowValues.get(i).toString());
+                    }
+                }
+            } else if (skipping) {
+                // a row of a test method that is not kept
+            } else if (dataValues != null) {
+                Map<String, Object> actualData = new LinkedHashMap<String, Object>();
+                for (String keyName : keyNames) {
+                    actualData.put(keyName, null);
+                }
+                for (int i = 0; i < rowColumns.size(); i++) {
+                    Object key = keys.get(rowColumns.get(i));
+                    if (key != null) {
+                        actualData.put(key.toString(), rowValues.get(i));
+                    }
+                }
+                dataValues.add(actualData);
+            } else {
+                LOG.warn("Skipping the row {} as no test method has been defined before it",
+                    rowColumns.isEmpty() ? null : rowValues);
+            }
+            rowColumns.clear();
+            rowValues.clear();
+        }
+    }
+
+}
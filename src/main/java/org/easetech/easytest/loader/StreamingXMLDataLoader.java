@@ -0,0 +1,201 @@
+package org.easetech.easytest.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.easetech.easytest.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link Loader} for large XML files. The files have exactly the same structure as the files read
+ * by {@link XMLDataLoader}, and the rows are built the same way, but instead of unmarshalling the whole document, this
+ * loader reads the file with a StAX {@link XMLStreamReader} and builds the rows of every test method as their elements
+ * are read. Neither a document tree nor the JAXB model of the file is built, so only the rows themselves are kept in
+ * memory.
+ * <br>
+ * Use it by specifying the loader explicitly :
+ * <br>
+ * <code>
+ * &#064;DataLoader(filePaths = { "regression.xml" }, loaderType = LoaderType.CUSTOM, loader = StreamingXMLDataLoader.class)
+ * </code>
+ * <br>
+ * The file is not validated against the schema : elements that are not part of the test data, such as Description and
+ * OutputData, are skipped. The data is written back using the {@link XMLDataLoader}. The rows of a single test method
+ * can be read using {@link #loadMethodData(Resource, String)}, which skips the elements of the other methods.
+ *
+ */
+public class StreamingXMLDataLoader extends XMLDataLoader implements MethodRowsLoader {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(StreamingXMLDataLoader.class);
+
+    /**
+     * The key of the id of the test record, as set by the {@link XMLDataLoader}
+     */
+    private static final String RECORD_POSITION = "recordPosition";
+
+    private static final String TEST_METHOD = "TestMethod";
+
+    private static final String TEST_RECORD = "TestRecord";
+
+    private static final String INPUT_DATA = "InputData";
+
+    private static final String ENTRY = "Entry";
+
+    /**
+     * The factory of the stream readers. Factories are thread safe once configured.
+     */
+    private static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        return factory;
+    }
+
+    /**
+     * Load the data for the given Resource
+     *
+     * @param resource the resource to load the data from
+     * @return the data keyed by the method name
+     */
+    @Override
+    public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+        return loadData(resource, null);
+    }
+
+    /**
+     * Load the rows of the given test method from the given Resource. The TestMethod elements of the other methods are
+     * skipped as they are read.
+     *
+     * @param resource the resource to load the data from
+     * @param methodName the name of the test method
+     * @return the rows of the method, or null if the resource has no rows for the method
+     */
+    public List<Map<String, Object>> loadMethodData(Resource resource, String methodName) {
+        Map<String, List<Map<String, Object>>> result = loadData(resource, methodName);
+        return result != null ? result.get(methodName) : null;
+    }
+
+    private Map<String, List<Map<String, Object>>> loadData(Resource resource, String methodName) {
+        Map<String, List<Map<String, Object>>> result = null;
+        try {
+            InputStream inputStream = resource.getInputStream();
+            try {
+                result = load(inputStream, methodName);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            LOG.error("IOException occured while trying to Load the resource {} . Moving to the next resource.",
+                resource.getResourceName(), e);
+        } catch (XMLStreamException e) {
+            LOG.error("XMLStreamException occured while trying to read the data.", e);
+            throw new RuntimeException("XMLStreamException occured while trying to read the data.", e);
+        }
+        return result;
+    }
+
+    private Map<String, List<Map<String, Object>>> load(InputStream xmlFile, String methodName)
+        throws XMLStreamException {
+        Map<String, List<Map<String, Object>>> data = new HashMap<String, List<Map<String, Object>>>();
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(xmlFile);
+        try {
+            List<Map<String, Object>> testMethodData = null;
+            // the default entries of the current method, and the entries of the current record
+            Map<String, Object> defaultEntries = null;
+            Map<String, Object> recordEntries = null;
+            String recordId = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if (TEST_METHOD.equals(element)) {
+                        String name = reader.getAttributeValue(null, "name");
+                        defaultEntries = null;
+                        if (methodName != null && !methodName.equals(name)) {
+                            testMethodData = null;
+                            skipElement(reader);
+                            continue;
+                        }
+                        testMethodData = new ArrayList<Map<String, Object>>();
+                        data.put(name, testMethodData);
+                    } else if (TEST_RECORD.equals(element)) {
+                        recordId = reader.getAttributeValue(null, "id");
+                        recordEntries = null;
+                    } else if (INPUT_DATA.equals(element)) {
+                        if (recordId == null) {
+                            defaultEntries = readEntries(reader);
+                        } else {
+                            recordEntries = readEntries(reader);
+                        }
+                    } else if (testMethodData != null) {
+                        // Description, OutputData or any other element that is not test data
+                        skipElement(reader);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && TEST_RECORD.equals(reader.getLocalName())) {
+                    Map<String, Object> singleTestData = new HashMap<String, Object>();
+                    if (defaultEntries != null) {
+                        singleTestData.putAll(defaultEntries);
+                    }
+                    if (recordEntries != null) {
+                        singleTestData.putAll(recordEntries);
+                    }
+                    singleTestData.put(RECORD_POSITION, recordId);
+                    testMethodData.add(singleTestData);
+                    recordId = null;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return data;
+    }
+
+    /**
+     * Read the Entry elements of an InputData element
+     *
+     * @param reader the reader positioned on the start of the InputData element
+     * @return the values of the entries, keyed by their key
+     */
+    private static Map<String, Object> readEntries(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, Object> entries = new HashMap<String, Object>();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (ENTRY.equals(reader.getLocalName())) {
+                    entries.put(reader.getAttributeValue(null, "key"), reader.getAttributeValue(null, "value"));
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return entries;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+}
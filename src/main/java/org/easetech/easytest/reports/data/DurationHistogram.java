@@ -0,0 +1,168 @@
+package org.easetech.easytest.reports.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of the durations of a method, in nanoseconds, from which the percentiles of the durations can be read.
+ * <br>
+ * The histogram uses a fixed number of buckets whatever the number of recorded durations, in the manner of an HDR
+ * histogram : the durations below 256 nanoseconds have a bucket each, and every following power of two is split into
+ * 128 buckets of equal width. A percentile read from the histogram is thus at most 1% above the actual duration, and
+ * the histogram takes about 58 KB whether it holds ten durations or ten million.
+ * <br>
+ * Recording a duration increments a single bucket and does not lock, so the histogram can be shared by the threads
+ * running the rows of a test class in parallel.
+ *
+ */
+public class DurationHistogram {
+
+    /**
+     * The number of bits of a duration that select its bucket within a power of two
+     */
+    private static final int SUB_BUCKET_BITS = 8;
+
+    /**
+     * The number of durations that have a bucket each
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets every following power of two is split into
+     */
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /**
+     * The total number of buckets, enough for any positive long
+     */
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Record a duration
+     *
+     * @param durationInNanos the duration in nanoseconds. A negative duration is recorded as 0.
+     */
+    public void record(long durationInNanos) {
+        long duration = Math.max(0, durationInNanos);
+        buckets.incrementAndGet(bucketOf(duration));
+        count.incrementAndGet();
+        total.addAndGet(duration);
+        long current;
+        while (duration < (current = min.get()) && !min.compareAndSet(current, duration)) {
+            // another thread updated the minimum, try again
+        }
+        while (duration > (current = max.get()) && !max.compareAndSet(current, duration)) {
+            // another thread updated the maximum, try again
+        }
+    }
+
+    /**
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the shortest recorded duration in nanoseconds, or 0 if none was recorded
+     */
+    public long getMin() {
+        return count.get() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * @return the longest recorded duration in nanoseconds, or 0 if none was recorded
+     */
+    public long getMax() {
+        return count.get() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * @return the mean of the recorded durations in nanoseconds, or 0 if none was recorded
+     */
+    public double getMean() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : (double) total.get() / recorded;
+    }
+
+    /**
+     * Get the duration below which the given percentage of the recorded durations fall
+     *
+     * @param percentile the percentage, between 0 and 100
+     * @return the duration in nanoseconds, or 0 if none was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * recorded));
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += buckets.get(index);
+            if (seen >= rank) {
+                return Math.max(Math.min(highestValueOf(index), getMax()), getMin());
+            }
+        }
+        // durations recorded while iterating
+        return getMax();
+    }
+
+    /**
+     * @return the median duration in nanoseconds
+     */
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    /**
+     * @return the 90th percentile of the durations in nanoseconds
+     */
+    public long getP90() {
+        return getValueAtPercentile(90);
+    }
+
+    /**
+     * @return the 99th percentile of the durations in nanoseconds
+     */
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    @Override
+    public String toString() {
+        return "DurationHistogram [count=" + getCount() + ", min=" + getMin() + ", p50=" + getP50() + ", p90="
+            + getP90() + ", p99=" + getP99() + ", max=" + getMax() + "]";
+    }
+
+    private static int bucketOf(long duration) {
+        if (duration < SUB_BUCKET_COUNT) {
+            return (int) duration;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(duration);
+        int shift = highestBit - SUB_BUCKET_BITS + 1;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+            + (int) (duration >>> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = SUB_BUCKET_HALF_COUNT + (bucket - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT;
+        // the last bucket ends with Long.MAX_VALUE, as the shift overflows to Long.MIN_VALUE
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.easetech.easytest.reports.data;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Observable;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link DurationObserver} that keeps a {@link DurationHistogram} per intercepted method instead of a
+ * {@link MethodUnderTestDuration} per call, so that the memory it takes does not grow with the number of calls, and
+ * the percentiles of the durations of a method can be reported after millions of calls.
+ * <br>
+ * The durations are recorded in nanoseconds by the {@link org.easetech.easytest.interceptor.RecordingInterceptor} and
+ * {@link org.easetech.easytest.interceptor.RecordingInvocationhandler}. A {@link MethodUnderTestDuration} it is
+ * notified with is recorded with its duration in milliseconds. The list of {@link #getDurationList()} stays empty.
+ *
+ */
+public class HistogramDurationObserver extends DurationObserver {
+
+    /**
+     * The histograms of the intercepted methods, keyed by the class name and the method name
+     */
+    private final ConcurrentMap<String, DurationHistogram> histograms = new ConcurrentHashMap<String, DurationHistogram>();
+
+    /**
+     * Record the duration of a {@link MethodUnderTestDuration}
+     *
+     * @param o the observable instance
+     * @param obj an instance of {@link MethodUnderTestDuration}
+     */
+    @Override
+    public void update(Observable o, Object obj) {
+        if (obj instanceof MethodUnderTestDuration) {
+            MethodUnderTestDuration data = (MethodUnderTestDuration) obj;
+            if (data.getActualDurationinMillis() != null) {
+                record(data.getClassUnderTest(), data.getMethodUnderTest(),
+                    data.getActualDurationinMillis().longValue() * 1000000);
+            }
+        }
+    }
+
+    /**
+     * Record the duration of a call to an intercepted method
+     *
+     * @param classUnderTest the class of the instance the method was called on
+     * @param method the method
+     * @param durationInNanos the duration of the call in nanoseconds
+     */
+    public void record(Class<?> classUnderTest, Method method, long durationInNanos) {
+        getHistogram(classUnderTest.getName() + "." + method.getName()).record(durationInNanos);
+    }
+
+    /**
+     * Get the histograms of the intercepted methods
+     *
+     * @return the histograms keyed by the class name and the method name, for eg. "com.example.ItemService.getItems",
+     *         in the order of their keys
+     */
+    public SortedMap<String, DurationHistogram> getHistograms() {
+        return new TreeMap<String, DurationHistogram>(histograms);
+    }
+
+    private DurationHistogram getHistogram(String key) {
+        DurationHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = new DurationHistogram();
+            DurationHistogram existing = histograms.putIfAbsent(key, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("HistogramDurationObserver [");
+        for (Map.Entry<String, DurationHistogram> entry : getHistograms().entrySet()) {
+            result.append(entry.getKey()).append('=').append(entry.getValue()).append(' ');
+        }
+        return result.append(']').toString();
+    }
+
+}
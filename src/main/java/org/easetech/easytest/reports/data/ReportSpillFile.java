@@ -0,0 +1,245 @@
+package org.easetech.easytest.reports.data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A temporary file to which the report data of the rows of a test class is appended, one line per row, as soon as a
+ * row completes. The lines are buffered, so that the rows only pay for a write to the file once every few rows.
+ * <br>
+ * Every line holds the tab separated fields of a {@link TestResultBean} : the method, the date, whether the row
+ * passed, whether it threw an exception, the result, the exception result, the output, the number of input values
+ * followed by their names and values, and the number of method durations followed by the item, start and end of each.
+ * Tabs, line breaks and backslashes within a field are escaped with a backslash, and a null field is written as \N.
+ * The input and output values are stored as their String representation, which is what the reports print.
+ *
+ */
+class ReportSpillFile {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String NULL = "\\N";
+
+    /**
+     * The spill file
+     */
+    private final File file;
+
+    /**
+     * The writer appending the lines to the file
+     */
+    private final Writer writer;
+
+    /**
+     * Construct a new ReportSpillFile
+     *
+     * @param directory the directory to create the file in, or null to use the default temporary directory
+     * @param className the name of the test class whose report data is spilled
+     */
+    ReportSpillFile(File directory, String className) {
+        try {
+            file = File.createTempFile("easytest-" + className + "-", ".report", directory);
+            file.deleteOnExit();
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create the spill file for the report data of the class "
+                + className, e);
+        }
+    }
+
+    /**
+     * Append the report data of a row
+     *
+     * @param testResult the report data of the row
+     */
+    synchronized void write(TestResultBean testResult) {
+        try {
+            writer.write(encode(testResult));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write the report data to the spill file " + file, e);
+        }
+    }
+
+    /**
+     * Open a reader on the lines written so far
+     *
+     * @return a reader, to be passed to {@link #read(BufferedReader)}
+     */
+    synchronized BufferedReader open() {
+        try {
+            writer.flush();
+            return new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the report data from the spill file " + file, e);
+        }
+    }
+
+    /**
+     * Read the report data of the next row
+     *
+     * @param reader the reader returned by {@link #open()}
+     * @return the report data of the row, or null at the end of the file
+     */
+    TestResultBean read(BufferedReader reader) {
+        try {
+            String line = reader.readLine();
+            return line != null ? decode(line) : null;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the report data from the spill file " + file, e);
+        }
+    }
+
+    /**
+     * Close and delete the spill file
+     */
+    synchronized void delete() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // nothing more can be done, the file is deleted on exit anyway
+        }
+        file.delete();
+    }
+
+    private static String encode(TestResultBean testResult) {
+        StringBuilder line = new StringBuilder();
+        append(line, testResult.getMethod());
+        append(line, testResult.getDate() != null ? String.valueOf(testResult.getDate().getTime()) : null);
+        append(line, testResult.getPassed());
+        append(line, testResult.getException());
+        append(line, testResult.getResult());
+        append(line, testResult.getExceptionResult());
+        append(line, testResult.getOutput());
+        Map<String, Object> input = testResult.getInput();
+        append(line, input != null ? input.size() : 0);
+        if (input != null) {
+            for (Map.Entry<String, Object> entry : input.entrySet()) {
+                append(line, entry.getKey());
+                append(line, entry.getValue());
+            }
+        }
+        List<TestMethodDuration> durations = testResult.getTestItemDurations();
+        append(line, durations != null ? durations.size() : 0);
+        if (durations != null) {
+            for (TestMethodDuration duration : durations) {
+                append(line, duration.getItem());
+                append(line, duration.getStartInNano());
+                append(line, duration.getEndInNano());
+            }
+        }
+        line.setCharAt(line.length() - 1, '\n');
+        return line.toString();
+    }
+
+    private static TestResultBean decode(String line) {
+        List<String> fields = split(line);
+        TestResultBean testResult = new TestResultBean();
+        int field = 0;
+        testResult.setMethod(fields.get(field++));
+        String date = fields.get(field++);
+        testResult.setDate(date != null ? new Date(Long.parseLong(date)) : null);
+        testResult.setPassed(toBoolean(fields.get(field++)));
+        testResult.setException(toBoolean(fields.get(field++)));
+        testResult.setResult(fields.get(field++));
+        testResult.setExceptionResult(fields.get(field++));
+        testResult.setOutput(fields.get(field++));
+        int inputSize = Integer.parseInt(fields.get(field++));
+        Map<String, Object> input = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < inputSize; i++) {
+            input.put(fields.get(field++), fields.get(field++));
+        }
+        testResult.setInput(input);
+        int durationCount = Integer.parseInt(fields.get(field++));
+        for (int i = 0; i < durationCount; i++) {
+            testResult.addTestItemDurationBean(new TestMethodDuration(fields.get(field++), Long.parseLong(fields
+                .get(field++)), Long.parseLong(fields.get(field++))));
+        }
+        return testResult;
+    }
+
+    private static Boolean toBoolean(String value) {
+        return value != null ? Boolean.valueOf(value) : null;
+    }
+
+    private static void append(StringBuilder line, Object value) {
+        if (value == null) {
+            line.append(NULL);
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\':
+                        line.append("\\\\");
+                        break;
+                    case '\t':
+                        line.append("\\t");
+                        break;
+                    case '\n':
+                        line.append("\\n");
+                        break;
+                    case '\r':
+                        line.append("\\r");
+                        break;
+                    default:
+                        line.append(c);
+                }
+            }
+        }
+        line.append('\t');
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        boolean escaped = false;
+        boolean isNull = false;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i == line.length() || (!escaped && line.charAt(i) == '\t')) {
+                fields.add(isNull ? null : field.toString());
+                field.setLength(0);
+                isNull = false;
+                continue;
+            }
+            char c = line.charAt(i);
+            if (escaped) {
+                escaped = false;
+                switch (c) {
+                    case 't':
+                        field.append('\t');
+                        break;
+                    case 'n':
+                        field.append('\n');
+                        break;
+                    case 'r':
+                        field.append('\r');
+                        break;
+                    case 'N':
+                        isNull = true;
+                        break;
+                    default:
+                        field.append(c);
+                }
+            } else if (c == '\\') {
+                escaped = true;
+            } else {
+                field.append(c);
+            }
+        }
+        return fields;
+    }
+
+}
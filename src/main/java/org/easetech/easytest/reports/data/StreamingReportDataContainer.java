@@ -0,0 +1,296 @@
+package org.easetech.easytest.reports.data;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link ReportDataContainer} that does not keep the report data of every row on the heap until the test class has
+ * run. Instead, the report data of a row is appended to a line oriented {@link ReportSpillFile} as soon as the row
+ * completes, through {@link #rowCompleted(TestResultBean)}, after which the {@link TestResultBean} of the row no longer
+ * holds its input, output and method durations. The bean itself is not released : it is created together with the
+ * row, and the runner keeps every row until the test class has run. What remains on the heap per row is thus an empty
+ * bean, whatever the size of the output of the row.
+ * <br>
+ * The reports are then rendered from the spill file : the lists returned by {@link #getTestResults()} and
+ * {@link #getMethodTestResults()} read the rows back from the file as they are iterated, one row at a time, and
+ * reading them by index in order reads the file only once. Only the rows that completed are reported, and the spill
+ * file is deleted by {@link #release()}, which also closes the readers of the iterations that were not completed.
+ *
+ */
+public class StreamingReportDataContainer extends ReportDataContainer {
+
+    /**
+     * The directory of the spill file, or null for the default temporary directory
+     */
+    private final File spillDirectory;
+
+    /**
+     * The spill file, created when the first row completes
+     */
+    private ReportSpillFile spillFile;
+
+    /**
+     * The number of rows completed so far for every test method, in the order the methods were added
+     */
+    private final Map<String, Integer> completedRows = new LinkedHashMap<String, Integer>();
+
+    /**
+     * The number of rows completed so far
+     */
+    private int totalCompletedRows;
+
+    /**
+     * The iterators whose reader is still open on the spill file
+     */
+    private final Set<SpilledRowIterator> openRows = new HashSet<SpilledRowIterator>();
+
+    /**
+     * Construct a new StreamingReportDataContainer
+     *
+     * @param testClass the test class
+     * @param spillDirectory the directory of the spill file, or null for the default temporary directory
+     */
+    public StreamingReportDataContainer(Class<?> testClass, File spillDirectory) {
+        super(testClass);
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Register the method of a row. The row itself is only reported once it has completed.
+     *
+     * @param testResult the report data of the row
+     */
+    @Override
+    public synchronized void addTestResult(TestResultBean testResult) {
+        if (!completedRows.containsKey(testResult.getMethod())) {
+            completedRows.put(testResult.getMethod(), Integer.valueOf(0));
+        }
+    }
+
+    /**
+     * Append the report data of a completed row to the spill file, and release the input, output and method durations
+     * of the row
+     *
+     * @param testResult the report data of the row
+     */
+    public void rowCompleted(TestResultBean testResult) {
+        ReportSpillFile file;
+        synchronized (this) {
+            if (spillFile == null) {
+                spillFile = new ReportSpillFile(spillDirectory, getTestClass().getSimpleName());
+            }
+            file = spillFile;
+        }
+        file.write(testResult);
+        synchronized (this) {
+            Integer count = completedRows.get(testResult.getMethod());
+            completedRows.put(testResult.getMethod(), Integer.valueOf(count != null ? count.intValue() + 1 : 1));
+            totalCompletedRows++;
+        }
+        testResult.setInput(null);
+        testResult.setOutput(null);
+        if (testResult.getTestItemDurations() != null) {
+            testResult.getTestItemDurations().clear();
+        }
+        if (testResult.getTestItemDurationsMap() != null) {
+            testResult.getTestItemDurationsMap().clear();
+        }
+    }
+
+    /**
+     * @return the report data of the rows completed so far, read from the spill file as the list is iterated
+     */
+    @Override
+    public synchronized List<TestResultBean> getTestResults() {
+        return new SpilledRows(null, totalCompletedRows);
+    }
+
+    /**
+     * @return the report data of the rows completed so far for every test method, read from the spill file as the
+     *         lists are iterated
+     */
+    @Override
+    public synchronized Map<String, List<TestResultBean>> getMethodTestResults() {
+        Map<String, List<TestResultBean>> methodTestResults = new LinkedHashMap<String, List<TestResultBean>>();
+        for (Map.Entry<String, Integer> entry : completedRows.entrySet()) {
+            methodTestResults.put(entry.getKey(), new SpilledRows(entry.getKey(), entry.getValue().intValue()));
+        }
+        return methodTestResults;
+    }
+
+    /**
+     * Delete the spill file, if any. The report data is no longer available afterwards.
+     */
+    public synchronized void release() {
+        for (SpilledRowIterator rows : new ArrayList<SpilledRowIterator>(openRows)) {
+            rows.close();
+        }
+        if (spillFile != null) {
+            spillFile.delete();
+            spillFile = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingReportDataContainer [testClass=" + getTestClass() + ", completedRows=" + completedRows + "]";
+    }
+
+    private synchronized ReportSpillFile getSpillFile() {
+        return spillFile;
+    }
+
+    private synchronized void opened(SpilledRowIterator rows) {
+        openRows.add(rows);
+    }
+
+    private synchronized void closed(SpilledRowIterator rows) {
+        openRows.remove(rows);
+    }
+
+    /**
+     * The rows of the spill file, or those of a single test method, as they were when the list was created
+     */
+    private class SpilledRows extends AbstractList<TestResultBean> {
+
+        /**
+         * The test method of the rows, or null for all the rows
+         */
+        private final String method;
+
+        private final int size;
+
+        /**
+         * The iterator the rows are read with by {@link #get(int)}, so that reading the rows in order by index reads
+         * the spill file only once
+         */
+        private SpilledRowIterator cursor;
+
+        /**
+         * The index of the row the cursor returns next
+         */
+        private int cursorIndex;
+
+        SpilledRows(String method, int size) {
+            this.method = method;
+            this.size = size;
+        }
+
+        @Override
+        public synchronized TestResultBean get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            if (cursor == null || !cursor.isOpen() || index < cursorIndex) {
+                if (cursor != null) {
+                    cursor.close();
+                }
+                cursor = (SpilledRowIterator) iterator();
+                cursorIndex = 0;
+            }
+            while (cursorIndex < index) {
+                cursor.next();
+                cursorIndex++;
+            }
+            cursorIndex++;
+            return cursor.next();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<TestResultBean> iterator() {
+            if (size == 0) {
+                return Collections.<TestResultBean> emptyIterator();
+            }
+            ReportSpillFile file = getSpillFile();
+            if (file == null) {
+                throw new IllegalStateException("The report data of the class " + getClassName()
+                    + " has been released");
+            }
+            return new SpilledRowIterator(file, method, size);
+        }
+    }
+
+    /**
+     * Reads the rows back from the spill file. The reader is closed once the last row has been read, or by
+     * {@link StreamingReportDataContainer#release()} if the iterator is not read to its end.
+     */
+    private class SpilledRowIterator implements Iterator<TestResultBean> {
+
+        private final ReportSpillFile file;
+
+        private final String method;
+
+        private final int size;
+
+        private final BufferedReader reader;
+
+        private int returned;
+
+        private boolean open = true;
+
+        SpilledRowIterator(ReportSpillFile file, String method, int size) {
+            this.file = file;
+            this.method = method;
+            this.size = size;
+            this.reader = file.open();
+            opened(this);
+        }
+
+        public boolean hasNext() {
+            return returned < size;
+        }
+
+        public TestResultBean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TestResultBean testResult;
+            do {
+                testResult = file.read(reader);
+            } while (testResult != null && method != null && !method.equals(testResult.getMethod()));
+            if (testResult == null) {
+                close();
+                throw new NoSuchElementException("The spill file has fewer rows than reported");
+            }
+            if (++returned == size) {
+                close();
+            }
+            return testResult;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        void close() {
+            open = false;
+            closed(this);
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // the file was only read
+            }
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.easetech.easytest.reports.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Date;
+import java.util.Map;
+import java.util.SortedMap;
+import org.easetech.easytest.annotation.Report;
+import org.easetech.easytest.annotation.TestPolicy;
+import org.easetech.easytest.internal.SystemProperties;
+import org.easetech.easytest.reports.data.DurationHistogram;
+import org.easetech.easytest.reports.data.HistogramDurationObserver;
+import org.easetech.easytest.reports.data.ReportParametersBean;
+import org.easetech.easytest.util.CommonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the percentiles of the durations of the methods intercepted while running a test class, as recorded by a
+ * {@link HistogramDurationObserver}.
+ * <br>
+ * The percentiles are always logged. When the reports of the test class are generated, either with the
+ * "reports.generate" system property or with the {@link Report} annotation, they are also written to the file
+ * "&lt;test class name&gt;_percentiles_&lt;date&gt;.csv" of the report location, with a line per method holding the
+ * number of calls and the minimum, mean, median, 90th percentile, 99th percentile and maximum duration in
+ * milliseconds.
+ *
+ */
+public class DurationPercentileReport {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(DurationPercentileReport.class);
+
+    private static final String HEADER = "Method,Calls,Min (ms),Mean (ms),P50 (ms),P90 (ms),P99 (ms),Max (ms)";
+
+    private final Class<?> testClass;
+
+    private final HistogramDurationObserver durationObserver;
+
+    /**
+     * Construct a new DurationPercentileReport
+     *
+     * @param testClass the test class
+     * @param durationObserver the observer that recorded the durations of the methods intercepted by the test class
+     */
+    public DurationPercentileReport(Class<?> testClass, HistogramDurationObserver durationObserver) {
+        this.testClass = testClass;
+        this.durationObserver = durationObserver;
+    }
+
+    /**
+     * Log the percentiles, and write them to the report location if the reports of the test class are generated
+     */
+    public void report() {
+        SortedMap<String, DurationHistogram> histograms = durationObserver.getHistograms();
+        if (histograms.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, DurationHistogram> entry : histograms.entrySet()) {
+            LOG.info("Durations of {} : {}", entry.getKey(), describe(entry.getValue()));
+        }
+        String outputLocation = getOutputLocation();
+        if (outputLocation == null) {
+            return;
+        }
+        File file = new File(outputLocation, testClass.getName() + "_percentiles_"
+            + CommonUtils.getFormattedDate(new Date()) + ".csv");
+        try {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+            try {
+                writer.write(HEADER);
+                writer.write('\n');
+                for (Map.Entry<String, DurationHistogram> entry : histograms.entrySet()) {
+                    writer.write(toCsv(entry.getKey(), entry.getValue()));
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+            LOG.info("Wrote the duration percentiles to {}", file);
+        } catch (IOException e) {
+            LOG.error("Could not write the duration percentiles to {}", file, e);
+        }
+    }
+
+    /**
+     * Get the folder the reports of the test class are written to, the same way
+     * {@link org.easetech.easytest.util.RunAftersWithOutputData} does
+     *
+     * @return the folder, or null if the reports of the test class are not generated
+     */
+    private String getOutputLocation() {
+        String rawOutputLocation;
+        if (System.getProperty(SystemProperties.GENERATE_REPORT.getValue()) != null) {
+            String location = System.getProperty(SystemProperties.REPORT_LOCATION.getValue());
+            rawOutputLocation = location != null ? location : "";
+        } else {
+            Report annotation = testClass.getAnnotation(Report.class);
+            TestPolicy testPolicy = testClass.getAnnotation(TestPolicy.class);
+            if (annotation == null && testPolicy != null) {
+                annotation = testPolicy.value().getAnnotation(Report.class);
+            }
+            if (annotation == null) {
+                return null;
+            }
+            rawOutputLocation = new ReportParametersBean(annotation.outputFormats(), annotation.reportTypes(),
+                annotation.outputLocation()).getOutputLocation();
+        }
+        return CommonUtils.createFolder(CommonUtils.getAbsoluteLocation(rawOutputLocation));
+    }
+
+    private static String describe(DurationHistogram histogram) {
+        return histogram.getCount() + " calls, min " + millis(histogram.getMin()) + " ms, mean "
+            + millis((long) histogram.getMean()) + " ms, p50 " + millis(histogram.getP50()) + " ms, p90 "
+            + millis(histogram.getP90()) + " ms, p99 " + millis(histogram.getP99()) + " ms, max "
+            + millis(histogram.getMax()) + " ms";
+    }
+
+    private static String toCsv(String method, DurationHistogram histogram) {
+        return method + "," + histogram.getCount() + "," + millis(histogram.getMin()) + ","
+            + millis((long) histogram.getMean()) + "," + millis(histogram.getP50()) + ","
+            + millis(histogram.getP90()) + "," + millis(histogram.getP99()) + "," + millis(histogram.getMax());
+    }
+
+    private static String millis(long nanos) {
+        return CommonUtils.getRounded(nanos / 1000000d, 3).toString();
+    }
+
+}
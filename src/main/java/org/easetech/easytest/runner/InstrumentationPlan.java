@@ -0,0 +1,200 @@
+package org.easetech.easytest.runner;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.easetech.easytest.annotation.Duration;
+import org.easetech.easytest.annotation.Intercept;
+import org.easetech.easytest.interceptor.Empty;
+import org.easetech.easytest.interceptor.MethodIntercepter;
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+/**
+ * The fields of a test class that the {@link SpringTestRunner} replaces by proxies, resolved once per test class. The
+ * plan lists the fields annotated with {@link Intercept} or {@link Duration}, which are instrumented for every new test
+ * instance, and for every test method annotated with {@link Duration}, the fields whose type matches
+ * {@link Duration#forClass()}. Every test instance then only replays the plan instead of looking up the declared
+ * fields and their annotations again.
+ *
+ */
+public class InstrumentationPlan {
+
+    /**
+     * The kind of proxy a field is replaced by
+     */
+    public enum ProxyKind {
+        /**
+         * A Spring AOP proxy, for fields annotated with {@link Intercept}
+         */
+        SPRING_AOP,
+        /**
+         * A JDK dynamic proxy, for {@link Duration} fields whose type is an interface
+         */
+        JDK_PROXY,
+        /**
+         * A CGLIB proxy, for {@link Duration} fields whose type is a class
+         */
+        CGLIB_PROXY
+    }
+
+    /**
+     * A field that is replaced by a proxy
+     */
+    public static class InstrumentedField {
+
+        /**
+         * The accessible field
+         */
+        private final Field field;
+
+        /**
+         * The kind of proxy the field is replaced by
+         */
+        private final ProxyKind proxyKind;
+
+        /**
+         * The user interceptor
+         */
+        private final Class<? extends MethodIntercepter> interceptor;
+
+        /**
+         * The expected run time in milliseconds, or null for {@link Intercept} fields
+         */
+        private final Long timeInMillis;
+
+        InstrumentedField(Field field, ProxyKind proxyKind, Class<? extends MethodIntercepter> interceptor,
+            Long timeInMillis) {
+            this.field = field;
+            this.proxyKind = proxyKind;
+            this.interceptor = interceptor;
+            this.timeInMillis = timeInMillis;
+        }
+
+        /**
+         * @return the accessible field
+         */
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * @return the kind of proxy the field is replaced by
+         */
+        public ProxyKind getProxyKind() {
+            return proxyKind;
+        }
+
+        /**
+         * @return the user interceptor
+         */
+        public Class<? extends MethodIntercepter> getInterceptor() {
+            return interceptor;
+        }
+
+        /**
+         * @return the expected run time in milliseconds, or null for {@link Intercept} fields
+         */
+        public Long getTimeInMillis() {
+            return timeInMillis;
+        }
+    }
+
+    /**
+     * The declared fields of the test class
+     */
+    private final Field[] declaredFields;
+
+    /**
+     * The fields instrumented for every new test instance
+     */
+    private final List<InstrumentedField> classFields;
+
+    /**
+     * The fields instrumented before a test method is invoked, keyed by the test method. Methods annotated with
+     * {@link Duration} without {@link Duration#forClass()} are not part of the plan.
+     */
+    private final ConcurrentMap<Method, List<InstrumentedField>> methodFields = new ConcurrentHashMap<Method, List<InstrumentedField>>();
+
+    /**
+     * Construct a new InstrumentationPlan for the declared fields of the given class
+     *
+     * @param testClass the class under test
+     */
+    public InstrumentationPlan(Class<?> testClass) {
+        declaredFields = testClass.getDeclaredFields();
+        List<InstrumentedField> fields = new ArrayList<InstrumentedField>();
+        for (Field field : declaredFields) {
+            field.setAccessible(true);
+            Intercept intercept = field.getAnnotation(Intercept.class);
+            if (intercept != null) {
+                fields.add(new InstrumentedField(field, ProxyKind.SPRING_AOP, intercept.interceptor(), null));
+            } else {
+                Duration duration = field.getAnnotation(Duration.class);
+                if (duration != null) {
+                    fields.add(newDurationField(field, duration));
+                }
+            }
+        }
+        classFields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Construct a new InstrumentationPlan for the declared fields and the test methods of the given class
+     *
+     * @param testClass the class under test
+     */
+    public InstrumentationPlan(TestClass testClass) {
+        this(testClass.getJavaClass());
+        for (FrameworkMethod method : testClass.getAnnotatedMethods(Test.class)) {
+            getDurationFields(method.getMethod());
+        }
+    }
+
+    /**
+     * @return the fields instrumented for every new test instance
+     */
+    public List<InstrumentedField> getClassFields() {
+        return classFields;
+    }
+
+    /**
+     * Get the fields instrumented before the given test method is invoked
+     *
+     * @param method the test method
+     * @return the fields whose type matches {@link Duration#forClass()} of the method, an empty list if the method is
+     *         not annotated with {@link Duration}, or null if the annotation has no {@link Duration#forClass()}
+     */
+    public List<InstrumentedField> getDurationFields(Method method) {
+        List<InstrumentedField> fields = methodFields.get(method);
+        if (fields == null) {
+            Duration duration = method.getAnnotation(Duration.class);
+            if (duration == null) {
+                fields = Collections.emptyList();
+            } else if (duration.forClass().isAssignableFrom(Empty.class)) {
+                return null;
+            } else {
+                fields = new ArrayList<InstrumentedField>();
+                for (Field field : declaredFields) {
+                    if (field.getType().isAssignableFrom(duration.forClass())) {
+                        fields.add(newDurationField(field, duration));
+                    }
+                }
+                fields = Collections.unmodifiableList(fields);
+            }
+            methodFields.putIfAbsent(method, fields);
+        }
+        return fields;
+    }
+
+    private static InstrumentedField newDurationField(Field field, Duration duration) {
+        return new InstrumentedField(field, field.getType().isInterface() ? ProxyKind.JDK_PROXY
+            : ProxyKind.CGLIB_PROXY, duration.interceptor(), duration.timeInMillis());
+    }
+
+}
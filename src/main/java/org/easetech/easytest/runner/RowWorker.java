@@ -0,0 +1,363 @@
+package org.easetech.easytest.runner;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.reports.data.TestMethodDuration;
+import org.easetech.easytest.reports.data.TestResultBean;
+import org.junit.AfterClass;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.junit4.statements.RunAfterTestClassCallbacks;
+
+/**
+ * The main class of a worker JVM started by the {@link RowWorkerPool}. The worker connects back to the JVM that
+ * started it and then runs the data rows it is sent, one at a time, until the connection is closed. A test class is
+ * set up once, the first time one of its rows is sent, and torn down when the worker exits, so the Spring
+ * ApplicationContext of the class stays loaded in between.
+ * <br>
+ * A row is identified by its test class, its test method and its index among the rows of the method. The worker loads
+ * the test data the same way the JVM that started it does, so both compute the same rows. The output of the row and its
+ * report data are sent back, and the data files are only ever written by the JVM that started the worker.
+ *
+ */
+public class RowWorker {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(RowWorker.class);
+
+    /**
+     * The runners of the test classes set up so far, keyed by the class name
+     */
+    private final Map<String, WorkerTestRunner> runners = new LinkedHashMap<String, WorkerTestRunner>();
+
+    /**
+     * Start a worker. The token of the {@link RowWorkerPool} is read from the first line of the standard input.
+     *
+     * @param args the port the JVM that started the worker listens on, and the index of the worker
+     * @throws Exception if the worker could not connect
+     */
+    public static void main(String[] args) throws Exception {
+        String token = new BufferedReader(new InputStreamReader(System.in, "UTF-8")).readLine();
+        if (token == null) {
+            throw new IllegalStateException("The row worker was not given the token of the row worker pool");
+        }
+        Socket socket = new Socket(InetAddress.getByName(null), Integer.parseInt(args[0]));
+        try {
+            new RowWorker().run(socket, token, Integer.parseInt(args[1]));
+        } finally {
+            socket.close();
+        }
+        System.exit(0);
+    }
+
+    private void run(Socket socket, String token, int workerIndex) throws IOException, ClassNotFoundException {
+        socket.setTcpNoDelay(true);
+        ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+        out.writeUTF(token);
+        out.writeInt(workerIndex);
+        out.flush();
+        ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+        try {
+            Object request;
+            while ((request = in.readObject()) != null) {
+                out.writeObject(run((Request) request));
+                out.flush();
+                // the rows are not shared by the results, so the stream does not need to remember them
+                out.reset();
+            }
+        } catch (IOException e) {
+            LOG.debug("The connection to the worker {} was closed", Integer.valueOf(workerIndex), e);
+        } finally {
+            tearDown();
+        }
+    }
+
+    private Result run(Request request) {
+        WorkerTestRunner runner;
+        try {
+            runner = getRunner(request.className);
+        } catch (Throwable e) {
+            LOG.error("Could not set up the test class {}", request.className, e);
+            Result result = new Result();
+            result.failure = serializable(e);
+            return result;
+        }
+        return runner.runRow(request.methodName, request.rowIndex);
+    }
+
+    private WorkerTestRunner getRunner(String className) throws Throwable {
+        WorkerTestRunner runner = runners.get(className);
+        if (runner == null) {
+            runner = new WorkerTestRunner(Class.forName(className, true, Thread.currentThread()
+                .getContextClassLoader()));
+            runner.setUp();
+            runners.put(className, runner);
+        }
+        return runner;
+    }
+
+    private void tearDown() {
+        for (WorkerTestRunner runner : runners.values()) {
+            try {
+                runner.tearDown();
+            } catch (Throwable e) {
+                LOG.error("Exception occured while tearing down the test class {}", runner.getTestClass().getName(),
+                    e);
+            }
+        }
+        runners.clear();
+    }
+
+    /**
+     * Make sure the given Throwable can be sent back. A Throwable that cannot be serialized is replaced by an
+     * {@link AssertionError} with the same message and stack trace.
+     *
+     * @param e the Throwable
+     * @return a Throwable that can be serialized
+     */
+    static Throwable serializable(Throwable e) {
+        try {
+            new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(e);
+            return e;
+        } catch (IOException notSerializable) {
+            AssertionError error = new AssertionError(e.toString());
+            error.setStackTrace(e.getStackTrace());
+            return error;
+        }
+    }
+
+    /**
+     * Make sure the given value can be sent back. A value that cannot be serialized is replaced by its String value,
+     * which is also what is written to the test data files.
+     *
+     * @param value the value
+     * @return a value that can be serialized
+     */
+    static Object serializable(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        try {
+            new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(value);
+            return value;
+        } catch (IOException notSerializable) {
+            return value.toString();
+        }
+    }
+
+    /**
+     * A row to run, sent to a worker
+     */
+    static final class Request implements Serializable {
+
+        private static final long serialVersionUID = 2140569617286349263L;
+
+        final String className;
+
+        final String methodName;
+
+        final int rowIndex;
+
+        Request(String className, String methodName, int rowIndex) {
+            this.className = className;
+            this.methodName = methodName;
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public String toString() {
+            return className + "." + methodName + "[" + rowIndex + "]";
+        }
+    }
+
+    /**
+     * The result of a row, sent back by a worker
+     */
+    static final class Result implements Serializable {
+
+        private static final long serialVersionUID = -5810264017734893364L;
+
+        /**
+         * The exception the row failed with, or null if it passed
+         */
+        Throwable failure;
+
+        /**
+         * Whether the failure is a violated assumption
+         */
+        boolean assumptionFailure;
+
+        /**
+         * Whether the row was ignored
+         */
+        boolean ignored;
+
+        /**
+         * The row data containing the output of the method, or null if the method has no test data
+         */
+        Map<String, Object> outputRow;
+
+        Boolean passed;
+
+        String result;
+
+        Boolean exception;
+
+        String exceptionResult;
+
+        Object output;
+
+        List<TestMethodDuration> testItemDurations;
+
+        /**
+         * Copy the report data of the row to the given {@link TestResultBean}
+         *
+         * @param testResult the report data of the row in the JVM that started the worker
+         */
+        void copyTo(TestResultBean testResult) {
+            testResult.setPassed(passed);
+            testResult.setResult(result);
+            testResult.setException(exception);
+            testResult.setExceptionResult(exceptionResult);
+            testResult.setOutput(output);
+            if (testItemDurations != null) {
+                for (TestMethodDuration duration : testItemDurations) {
+                    testResult.addTestItemDurationBean(duration);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs single rows of a test class
+     */
+    static final class WorkerTestRunner extends SpringTestRunner {
+
+        /**
+         * The rows of the test methods, in the order they were computed
+         */
+        private final Map<String, List<FrameworkMethod>> rows = new HashMap<String, List<FrameworkMethod>>();
+
+        /**
+         * The output of the row being run
+         */
+        private Map<String, Object> outputRow;
+
+        WorkerTestRunner(Class<?> clazz) throws InitializationError {
+            super(clazz);
+            for (FrameworkMethod row : computeTestMethods()) {
+                List<FrameworkMethod> methodRows = rows.get(row.getMethod().getName());
+                if (methodRows == null) {
+                    methodRows = new ArrayList<FrameworkMethod>();
+                    rows.put(row.getMethod().getName(), methodRows);
+                }
+                methodRows.add(row);
+            }
+        }
+
+        void setUp() throws Throwable {
+            withBeforeClasses(new Statement() {
+
+                @Override
+                public void evaluate() {
+                    // the rows are run one at a time as they are sent
+                }
+            }).evaluate();
+        }
+
+        void tearDown() throws Throwable {
+            Statement afters = new Statement() {
+
+                @Override
+                public void evaluate() throws Throwable {
+                    for (FrameworkMethod after : getTestClass().getAnnotatedMethods(AfterClass.class)) {
+                        after.invokeExplosively(null);
+                    }
+                }
+            };
+            new RunAfterTestClassCallbacks(afters, getTestContextManager()).evaluate();
+        }
+
+        Result runRow(String methodName, int rowIndex) {
+            final Result result = new Result();
+            List<FrameworkMethod> methodRows = rows.get(methodName);
+            if (methodRows == null || rowIndex >= methodRows.size()) {
+                result.failure = new AssertionError("The worker has no row " + rowIndex + " for the method "
+                    + methodName + ". Make sure the worker loads the same test data.");
+                return result;
+            }
+            EasyFrameworkMethod row = (EasyFrameworkMethod) methodRows.get(rowIndex);
+            RunNotifier notifier = new RunNotifier();
+            notifier.addListener(new RunListener() {
+
+                @Override
+                public void testFailure(Failure failure) {
+                    result.failure = serializable(failure.getException());
+                }
+
+                @Override
+                public void testAssumptionFailure(Failure failure) {
+                    result.failure = serializable(failure.getException());
+                    result.assumptionFailure = true;
+                }
+
+                @Override
+                public void testIgnored(org.junit.runner.Description description) {
+                    result.ignored = true;
+                }
+            });
+            outputRow = null;
+            runChild(row, notifier);
+            if (outputRow != null) {
+                Map<String, Object> sentRow = new LinkedHashMap<String, Object>();
+                for (Map.Entry<String, Object> entry : outputRow.entrySet()) {
+                    sentRow.put(entry.getKey(), serializable(entry.getValue()));
+                }
+                result.outputRow = sentRow;
+            }
+            TestResultBean testResult = row.getTestResult();
+            if (testResult != null) {
+                result.passed = testResult.getPassed();
+                result.result = testResult.getResult();
+                result.exception = testResult.getException();
+                result.exceptionResult = testResult.getExceptionResult();
+                result.output = serializable(testResult.getOutput());
+                result.testItemDurations = testResult.getTestItemDurations() != null ? new ArrayList<TestMethodDuration>(
+                    testResult.getTestItemDurations()) : null;
+            }
+            return result;
+        }
+
+        @Override
+        protected void reportRow(TestResultBean testResult) {
+            // the report data is sent back and reported by the runner that handed the row out
+        }
+
+        @Override
+        protected void recordOutput(EasyFrameworkMethod row, Map<String, Object> inputRow,
+            Map<String, Object> outputRow) {
+            this.outputRow = outputRow;
+        }
+    }
+
+}
@@ -0,0 +1,499 @@
+package org.easetech.easytest.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of local worker JVMs that run the data rows of the test classes, so that the rows of a single test class are
+ * spread over several processes. The rows are put on a single queue, and every worker takes the next row as soon as it
+ * is done with the previous one, so a worker that runs costly rows simply takes fewer of them.
+ * <br>
+ * The pool is started by the first test class run with the "test.rowWorkers" system property set to the number of
+ * workers, and is shared by all the test classes that follow. The workers are started with the class path of this JVM
+ * and its "test." and "easytest." system properties, plus the JVM arguments of the "test.rowWorkerJvmArgs" system
+ * property if set, and they connect back to this JVM over the loopback interface. Every worker is given a random token
+ * on its standard input, and a connection that does not start with the token is closed before anything is read from
+ * it, so that no other local process can send rows or results to this JVM. The output of every worker is appended to
+ * the file "easytest-row-worker-&lt;index&gt;.log" of the temporary directory. The workers exit when this JVM does, after
+ * running the &#064;AfterClass methods of the test classes they ran rows of, and are destroyed if they do not exit in
+ * time, or if the pool could not be started. A worker whose connection is lost is not replaced : the rows are run by
+ * the workers that are left, and fail once no worker is left.
+ * <br>
+ * The test classes whose data is loaded lazily, see {@link org.easetech.easytest.annotation.LazyDataLoading}, run
+ * their rows in this JVM. The durations captured by the {@link org.easetech.easytest.annotation.Duration} fields of
+ * the rows run by a worker are only checked by the worker.
+ *
+ */
+public class RowWorkerPool {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(RowWorkerPool.class);
+
+    /**
+     * The time given to the workers to start and connect, in milliseconds
+     */
+    private static final int CONNECT_TIMEOUT = 120000;
+
+    /**
+     * The time given to the workers to exit once the pool is shut down, in milliseconds
+     */
+    private static final long EXIT_TIMEOUT = 30000;
+
+    /**
+     * The pool started by the first test class, or null if none was started yet
+     */
+    private static RowWorkerPool instance;
+
+    /**
+     * Whether starting the pool failed, in which case the rows are run by this JVM
+     */
+    private static boolean unavailable;
+
+    /**
+     * The rows waiting for a worker
+     */
+    private final BlockingQueue<RowTask> queue = new LinkedBlockingQueue<RowTask>();
+
+    /**
+     * The number of workers still connected. It is only changed while holding the lock of the queue, so that no row is
+     * queued once the last worker has disconnected.
+     */
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+
+    /**
+     * The processes of the workers started so far
+     */
+    private final List<Process> workers = new ArrayList<Process>();
+
+    /**
+     * The token the workers present when they connect
+     */
+    private final String token;
+
+    /**
+     * Construct a new RowWorkerPool and start its workers
+     *
+     * @param workerCount the number of workers
+     * @throws IOException if the workers could not be started
+     */
+    public RowWorkerPool(int workerCount) throws IOException {
+        byte[] tokenBytes = new byte[16];
+        new SecureRandom().nextBytes(tokenBytes);
+        StringBuilder tokenHex = new StringBuilder();
+        for (byte tokenByte : tokenBytes) {
+            tokenHex.append(String.format("%02x", Integer.valueOf(tokenByte & 0xFF)));
+        }
+        token = tokenHex.toString();
+        ServerSocket serverSocket = new ServerSocket(0, workerCount, InetAddress.getByName(null));
+        try {
+            serverSocket.setSoTimeout(CONNECT_TIMEOUT);
+            for (int i = 0; i < workerCount; i++) {
+                startWorker(serverSocket.getLocalPort(), i);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+                public void run() {
+                    shutdown();
+                }
+            }, "easytest-row-worker-shutdown"));
+            while (liveWorkers.get() < workerCount) {
+                accept(serverSocket.accept());
+            }
+        } catch (IOException e) {
+            stop(0);
+            throw e;
+        } catch (RuntimeException e) {
+            stop(0);
+            throw e;
+        } finally {
+            serverSocket.close();
+        }
+        LOG.info("Started {} row workers", Integer.valueOf(workerCount));
+    }
+
+    /**
+     * Get the pool configured with the "test.rowWorkers" system property, starting it on first use
+     *
+     * @return the pool, or null if the rows are run by this JVM
+     */
+    public static synchronized RowWorkerPool getInstance() {
+        String workers = System.getProperty(SpringSystemProperties.ROW_WORKERS.getValue());
+        if (workers == null || "".equals(workers.trim()) || unavailable) {
+            return null;
+        }
+        if (instance == null) {
+            int workerCount = Integer.parseInt(workers.trim());
+            if (workerCount <= 0) {
+                return null;
+            }
+            try {
+                instance = new RowWorkerPool(workerCount);
+            } catch (IOException e) {
+                LOG.warn("Could not start the row workers. The rows are run by this JVM.", e);
+                unavailable = true;
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Create a new batch of rows, the completion of which can be waited for
+     *
+     * @return a {@link RowBatch}
+     */
+    RowBatch newBatch() {
+        return new RowBatch();
+    }
+
+    /**
+     * Stop the workers once they have run the rows queued so far, and wait for them to exit. A worker that has not
+     * exited after 30 seconds is destroyed. A worker also stops as soon as its connection to this JVM is closed, for
+     * eg. when this JVM exits.
+     */
+    public void shutdown() {
+        stop(EXIT_TIMEOUT);
+    }
+
+    private void stop(long exitTimeout) {
+        synchronized (RowWorkerPool.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        queue.add(RowTask.SHUTDOWN);
+        long deadline = System.currentTimeMillis() + exitTimeout;
+        synchronized (workers) {
+            for (Process worker : workers) {
+                try {
+                    while (isAlive(worker) && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(50);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    deadline = 0;
+                }
+                if (isAlive(worker)) {
+                    LOG.warn("Destroying the row worker {}, which did not exit in time", worker);
+                    worker.destroy();
+                }
+            }
+        }
+    }
+
+    private static boolean isAlive(Process process) {
+        try {
+            process.exitValue();
+            return false;
+        } catch (IllegalThreadStateException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Talk to a worker that connected, if it presents the token of this pool
+     *
+     * @param socket the connection
+     * @throws IOException if the connection failed
+     */
+    private void accept(Socket socket) throws IOException {
+        try {
+            socket.setTcpNoDelay(true);
+            ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            // only primitive data is read until the token has been checked, so that no object is deserialized
+            if (!MessageDigest.isEqual(token.getBytes("UTF-8"), in.readUTF().getBytes("UTF-8"))) {
+                LOG.warn("Closing a connection to the row workers that did not present the token of the pool");
+                socket.close();
+                return;
+            }
+            int workerIndex = in.readInt();
+            synchronized (queue) {
+                liveWorkers.incrementAndGet();
+            }
+            Thread dispatcher = new Thread(new Dispatcher(workerIndex, socket, out, in), "easytest-row-worker-"
+                + workerIndex);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        } catch (SocketTimeoutException e) {
+            throw e;
+        } catch (IOException e) {
+            LOG.warn("Closing a connection to the row workers that failed before presenting the token", e);
+            socket.close();
+        }
+    }
+
+    private void startWorker(int port, int workerIndex) throws IOException {
+        List<String> command = new ArrayList<String>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+        String jvmArgs = System.getProperty(SpringSystemProperties.ROW_WORKER_JVM_ARGS.getValue());
+        if (jvmArgs != null) {
+            for (String jvmArg : jvmArgs.trim().split("\\s+")) {
+                if (jvmArg.length() != 0) {
+                    command.add(jvmArg);
+                }
+            }
+        }
+        for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+            String name = property.getKey().toString();
+            if ((name.startsWith("test.") || name.startsWith("easytest."))
+                && !name.equals(SpringSystemProperties.ROW_WORKERS.getValue())) {
+                command.add("-D" + name + "=" + property.getValue());
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(RowWorker.class.getName());
+        command.add(String.valueOf(port));
+        command.add(String.valueOf(workerIndex));
+        File log = new File(System.getProperty("java.io.tmpdir"), "easytest-row-worker-" + workerIndex + ".log");
+        LOG.debug("Starting the row worker {} with the output in {}", Integer.valueOf(workerIndex), log);
+        Process worker = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(Redirect.appendTo(log))
+            .start();
+        synchronized (workers) {
+            workers.add(worker);
+        }
+        Writer tokenWriter = new OutputStreamWriter(worker.getOutputStream(), "UTF-8");
+        try {
+            tokenWriter.write(token);
+            tokenWriter.write('\n');
+        } finally {
+            tokenWriter.close();
+        }
+    }
+
+    /**
+     * Receives the result of a row run by a worker. The methods are called by the thread talking to the worker.
+     */
+    interface RowListener {
+
+        /**
+         * Called when the row is sent to a worker
+         */
+        void started();
+
+        /**
+         * Called when the worker has run the row
+         *
+         * @param result the result of the row
+         */
+        void finished(RowWorker.Result result);
+
+        /**
+         * Called when the row could not be run by a worker
+         *
+         * @param e the cause
+         */
+        void failed(Throwable e);
+    }
+
+    /**
+     * The rows of a test class, the completion of which can be waited for
+     */
+    final class RowBatch {
+
+        private int pendingRows;
+
+        private RowBatch() {
+        }
+
+        /**
+         * Queue a row to be run by the next available worker
+         *
+         * @param request the row
+         * @param listener the listener receiving the result of the row
+         */
+        void submit(RowWorker.Request request, RowListener listener) {
+            synchronized (this) {
+                pendingRows++;
+            }
+            RowTask task = new RowTask(this, request, listener);
+            synchronized (queue) {
+                if (liveWorkers.get() > 0) {
+                    queue.add(task);
+                    return;
+                }
+            }
+            listener.started();
+            task.fail(new IllegalStateException("No row worker is left to run the row " + request));
+        }
+
+        /**
+         * Wait until all the rows submitted so far have run
+         *
+         * @throws InterruptedException if the thread was interrupted while waiting
+         */
+        synchronized void await() throws InterruptedException {
+            while (pendingRows > 0) {
+                wait();
+            }
+        }
+
+        private synchronized void completed() {
+            pendingRows--;
+            if (pendingRows == 0) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * A row waiting for a worker
+     */
+    private static final class RowTask {
+
+        /**
+         * Tells the threads talking to the workers to stop
+         */
+        static final RowTask SHUTDOWN = new RowTask(null, null, null);
+
+        final RowBatch batch;
+
+        final RowWorker.Request request;
+
+        final RowListener listener;
+
+        RowTask(RowBatch batch, RowWorker.Request request, RowListener listener) {
+            this.batch = batch;
+            this.request = request;
+            this.listener = listener;
+        }
+
+        void fail(Throwable e) {
+            try {
+                listener.failed(e);
+            } finally {
+                batch.completed();
+            }
+        }
+    }
+
+    /**
+     * Sends the rows of the queue to a worker, one at a time, for as long as the worker is connected
+     */
+    private final class Dispatcher implements Runnable {
+
+        private final int workerIndex;
+
+        private final Socket socket;
+
+        private final ObjectOutputStream out;
+
+        private final ObjectInputStream in;
+
+        Dispatcher(int workerIndex, Socket socket, ObjectOutputStream out, ObjectInputStream in) {
+            this.workerIndex = workerIndex;
+            this.socket = socket;
+            this.out = out;
+            this.in = in;
+        }
+
+        public void run() {
+            boolean lost = true;
+            try {
+                RowTask task;
+                while ((task = queue.take()) != RowTask.SHUTDOWN) {
+                    if (!run(task)) {
+                        return;
+                    }
+                }
+                lost = false;
+                // let the other threads see the shutdown too
+                queue.add(RowTask.SHUTDOWN);
+                out.writeObject(null);
+                out.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                LOG.debug("Could not stop the row worker {}", Integer.valueOf(workerIndex), e);
+            } finally {
+                disconnect(lost);
+            }
+        }
+
+        /**
+         * Run a row on the worker
+         *
+         * @param task the row
+         * @return false if the connection to the worker was lost
+         */
+        private boolean run(RowTask task) {
+            RowWorker.Result result;
+            try {
+                task.listener.started();
+                out.writeObject(task.request);
+                out.flush();
+                out.reset();
+                result = (RowWorker.Result) in.readObject();
+            } catch (Exception e) {
+                LOG.error("Lost the connection to the row worker {} while running the row {}", new Object[] {
+                    Integer.valueOf(workerIndex), task.request, e });
+                task.fail(e);
+                return false;
+            }
+            try {
+                task.listener.finished(result);
+            } catch (Throwable e) {
+                LOG.error("Exception occured while reporting the result of the row {}", task.request, e);
+            } finally {
+                task.batch.completed();
+            }
+            return true;
+        }
+
+        /**
+         * Close the connection to the worker. The rows still waiting are failed if no worker is left to run them.
+         *
+         * @param lost whether the connection was lost before the pool was shut down
+         */
+        private void disconnect(boolean lost) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // nothing more to do
+            }
+            List<RowTask> orphans = new ArrayList<RowTask>();
+            int left;
+            synchronized (queue) {
+                left = liveWorkers.decrementAndGet();
+                if (left == 0) {
+                    queue.drainTo(orphans);
+                }
+            }
+            if (lost) {
+                LOG.warn("The row worker {} is gone, {} row workers are left", Integer.valueOf(workerIndex),
+                    Integer.valueOf(left));
+            }
+            // no worker is left to run the rows that were still waiting
+            for (RowTask task : orphans) {
+                if (task != RowTask.SHUTDOWN) {
+                    task.listener.started();
+                    task.fail(new IllegalStateException("No row worker is left to run the row " + task.request));
+                }
+            }
+        }
+    }
+
+}
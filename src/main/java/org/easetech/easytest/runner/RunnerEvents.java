@@ -0,0 +1,213 @@
+package org.easetech.easytest.runner;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java Flight Recorder events for the phases of a {@link SpringTestRunner}, so that a recording of a slow test class
+ * shows when the runner was loading data, preparing test instances, instrumenting them, running rows or writing
+ * output, next to the GC and lock contention events of the JVM. Every event carries the test class, the test method
+ * and the index of the row among the rows of its method, the latter two being empty and -1 when they do not apply.
+ * <br>
+ * The events are defined with <code>jdk.jfr.EventFactory</code>, which is looked up reflectively so that the framework
+ * still runs on JVMs without the Flight Recorder. On such JVMs, and while no recording is running, beginning an event
+ * only costs a check. The events are listed in the "EasyTest" category of JDK Mission Control, for eg. after running
+ * the tests with :
+ * <br>
+ * <code>
+ * -XX:StartFlightRecording=filename=tests.jfr
+ * </code>
+ *
+ */
+public final class RunnerEvents {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(RunnerEvents.class);
+
+    /**
+     * The phases of the runner that are recorded
+     */
+    public enum Phase {
+
+        /**
+         * Loading the test data and creating the rows
+         */
+        DATA_LOADING("DataLoading", "Data Loading", "Loading the test data and creating the rows"),
+
+        /**
+         * Preparing a test instance with the Spring TestContextManager
+         */
+        CONTEXT_PREPARATION("ContextPreparation", "Context Preparation",
+            "Preparing a test instance with the Spring TestContextManager"),
+
+        /**
+         * Replacing the Intercept and Duration fields of a test instance by proxies
+         */
+        INSTRUMENTATION("Instrumentation", "Instrumentation",
+            "Replacing the Intercept and Duration fields of a test instance by proxies"),
+
+        /**
+         * Running a row, from creating its test instance to its last callback
+         */
+        ROW_INVOCATION("RowInvocation", "Row Invocation", "Running a row of test data"),
+
+        /**
+         * Writing the output data and the reports once the test class has run
+         */
+        OUTPUT_WRITING("OutputWriting", "Output Writing",
+            "Writing the output data and the reports once the test class has run");
+
+        private final String name;
+
+        private final String label;
+
+        private final String description;
+
+        private Phase(String name, String label, String description) {
+            this.name = name;
+            this.label = label;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates a new event of a phase, indexed by the ordinal of the phase
+     */
+    private static final MethodHandle[] NEW_EVENT = new MethodHandle[Phase.values().length];
+
+    private static MethodHandle isEnabled;
+
+    private static MethodHandle set;
+
+    private static MethodHandle begin;
+
+    private static MethodHandle commit;
+
+    private static final boolean AVAILABLE = defineEvents();
+
+    private RunnerEvents() {
+        // utility class
+    }
+
+    /**
+     * @return true if the JVM has a Flight Recorder
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Begin an event
+     *
+     * @param phase the phase of the runner
+     * @param testClass the test class
+     * @param method the test method, or null
+     * @param rowIndex the index of the row among the rows of the test method, or -1
+     * @return the event to pass to {@link #end(Object)}, or null if the event is not recorded
+     */
+    public static Object begin(Phase phase, Class<?> testClass, Method method, int rowIndex) {
+        if (!AVAILABLE) {
+            return null;
+        }
+        try {
+            Object event = (Object) NEW_EVENT[phase.ordinal()].invokeExact();
+            if (!(boolean) isEnabled.invokeExact(event)) {
+                return null;
+            }
+            set.invokeExact(event, 0, (Object) testClass.getName());
+            set.invokeExact(event, 1, (Object) (method != null ? method.getName() : ""));
+            set.invokeExact(event, 2, (Object) Integer.valueOf(rowIndex));
+            begin.invokeExact(event);
+            return event;
+        } catch (Throwable e) {
+            LOG.debug("Could not begin the {} event", phase, e);
+            return null;
+        }
+    }
+
+    /**
+     * End an event and commit it to the recording
+     *
+     * @param event the event returned by {@link #begin(Phase, Class, Method, int)}, or null
+     */
+    public static void end(Object event) {
+        if (event == null) {
+            return;
+        }
+        try {
+            commit.invokeExact(event);
+        } catch (Throwable e) {
+            LOG.debug("Could not commit the event {}", event, e);
+        }
+    }
+
+    private static boolean defineEvents() {
+        try {
+            ClassLoader classLoader = RunnerEvents.class.getClassLoader();
+            Class<?> eventClass = Class.forName("jdk.jfr.Event", false, classLoader);
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory", false, classLoader);
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement", false, classLoader);
+            Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor", false, classLoader);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            List<Object> fields = new ArrayList<Object>();
+            fields.add(valueDescriptor(valueDescriptorClass, annotationElementClass, String.class, "testClass",
+                "Test Class"));
+            fields.add(valueDescriptor(valueDescriptorClass, annotationElementClass, String.class, "testMethod",
+                "Test Method"));
+            fields.add(valueDescriptor(valueDescriptorClass, annotationElementClass, int.class, "rowIndex",
+                "Row Index"));
+            Method create = eventFactoryClass.getMethod("create", List.class, List.class);
+            MethodHandle newEvent = lookup.findVirtual(eventFactoryClass, "newEvent",
+                MethodType.methodType(eventClass));
+            for (Phase phase : Phase.values()) {
+                List<Object> annotations = new ArrayList<Object>();
+                annotations.add(annotation(annotationElementClass, "jdk.jfr.Name", "org.easetech.easytest."
+                    + phase.name));
+                annotations.add(annotation(annotationElementClass, "jdk.jfr.Label", phase.label));
+                annotations.add(annotation(annotationElementClass, "jdk.jfr.Description", phase.description));
+                annotations.add(annotation(annotationElementClass, "jdk.jfr.Category", new String[] { "EasyTest" }));
+                Object eventFactory = create.invoke(null, annotations, fields);
+                NEW_EVENT[phase.ordinal()] = newEvent.bindTo(eventFactory).asType(MethodType.methodType(Object.class));
+            }
+            isEnabled = lookup.findVirtual(eventClass, "isEnabled", MethodType.methodType(boolean.class)).asType(
+                MethodType.methodType(boolean.class, Object.class));
+            set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+                .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+            begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class)).asType(
+                MethodType.methodType(void.class, Object.class));
+            commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class)).asType(
+                MethodType.methodType(void.class, Object.class));
+            return true;
+        } catch (ClassNotFoundException e) {
+            LOG.debug("The JVM has no Flight Recorder, the runner events are not recorded");
+        } catch (Throwable e) {
+            LOG.warn("Could not define the runner events of the Flight Recorder", e);
+        }
+        return false;
+    }
+
+    private static Object annotation(Class<?> annotationElementClass, String annotationName, Object value)
+        throws Exception {
+        Class<?> annotationClass = Class.forName(annotationName, false, annotationElementClass.getClassLoader());
+        return annotationElementClass.getConstructor(Class.class, Object.class).newInstance(annotationClass, value);
+    }
+
+    private static Object valueDescriptor(Class<?> valueDescriptorClass, Class<?> annotationElementClass,
+        Class<?> type, String name, String label) throws Exception {
+        List<Object> annotations = Collections.singletonList(annotation(annotationElementClass, "jdk.jfr.Label",
+            label));
+        return valueDescriptorClass.getConstructor(Class.class, String.class, List.class).newInstance(type, name,
+            annotations);
+    }
+
+}
@@ -0,0 +1,246 @@
+package org.easetech.easytest.runner;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Live counters of a {@link SpringTestRunner}, registered as an MBean with the platform MBean server while the test
+ * class runs, so that the phase of a data driven test class that grows when it slows down can be seen with JConsole.
+ * <br>
+ * The MBean is registered as "org.easetech.easytest:type=SpringTestRunner,testClass=&lt;test class name&gt;,id=&lt;n&gt;"
+ * when the runner starts running the test class, and is unregistered once the test class has run. The time spent
+ * loading the test data when the runner was created is counted nonetheless. The counters are updated by the threads
+ * running the rows without locking.
+ *
+ */
+public class RunnerMetrics implements RunnerMetricsMBean {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(RunnerMetrics.class);
+
+    /**
+     * Tells apart the MBeans of the runners of the same test class
+     */
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final String testClassName;
+
+    private final AtomicLong rowsCreated = new AtomicLong();
+
+    private final AtomicLong rowsExecuted = new AtomicLong();
+
+    private final AtomicLong firstRowStart = new AtomicLong();
+
+    private final AtomicLong testInstancesCreated = new AtomicLong();
+
+    private final AtomicLong createTestNanos = new AtomicLong();
+
+    private final AtomicLong prepareTestInstanceNanos = new AtomicLong();
+
+    private final AtomicLong proxyCreationNanos = new AtomicLong();
+
+    private final AtomicLong dataLoadNanos = new AtomicLong();
+
+    private final AtomicLong outputWriteNanos = new AtomicLong();
+
+    /**
+     * The name the MBean is registered with, or null if it is not registered
+     */
+    private volatile ObjectName objectName;
+
+    /**
+     * Construct a new RunnerMetrics
+     *
+     * @param testClass the test class of the runner
+     */
+    public RunnerMetrics(Class<?> testClass) {
+        this.testClassName = testClass.getName();
+    }
+
+    /**
+     * Register the MBean with the platform MBean server. A failure is logged and otherwise ignored.
+     */
+    public void register() {
+        try {
+            ObjectName name = new ObjectName("org.easetech.easytest:type=SpringTestRunner,testClass="
+                + ObjectName.quote(testClassName) + ",id=" + INSTANCES.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            LOG.debug("Could not register the metrics of the test class {}", testClassName, e);
+        }
+    }
+
+    /**
+     * Unregister the MBean from the platform MBean server, if it is registered
+     */
+    public void unregister() {
+        ObjectName name = objectName;
+        if (name == null) {
+            return;
+        }
+        objectName = null;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOG.debug("Could not unregister the metrics of the test class {}", testClassName, e);
+        }
+    }
+
+    /**
+     * @return the name the MBean is registered with, or null if it is not registered
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Count rows that were created and are waiting to run
+     *
+     * @param rows the number of rows
+     */
+    public void rowsCreated(int rows) {
+        rowsCreated.addAndGet(rows);
+    }
+
+    /**
+     * Stop counting rows that were created but filtered out, so that they never run
+     *
+     * @param rows the number of rows
+     */
+    public void rowsFiltered(int rows) {
+        rowsCreated.addAndGet(-rows);
+    }
+
+    /**
+     * Mark the start of a row
+     */
+    public void rowStarted() {
+        if (firstRowStart.get() == 0) {
+            firstRowStart.compareAndSet(0, System.nanoTime());
+        }
+    }
+
+    /**
+     * Count a row that has run
+     */
+    public void rowExecuted() {
+        rowsExecuted.incrementAndGet();
+    }
+
+    /**
+     * Add the time spent creating a test instance
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void addCreateTestTime(long nanos) {
+        testInstancesCreated.incrementAndGet();
+        createTestNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Add the time spent preparing a test instance
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void addPrepareTestInstanceTime(long nanos) {
+        prepareTestInstanceNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Add the time spent creating proxies
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void addProxyCreationTime(long nanos) {
+        proxyCreationNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Add the time spent loading test data
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void addDataLoadTime(long nanos) {
+        dataLoadNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Add the time spent writing output
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void addOutputWriteTime(long nanos) {
+        outputWriteNanos.addAndGet(nanos);
+    }
+
+    public String getTestClassName() {
+        return testClassName;
+    }
+
+    public long getRowsExecuted() {
+        return rowsExecuted.get();
+    }
+
+    public long getRowsPending() {
+        return Math.max(0, rowsCreated.get() - rowsExecuted.get());
+    }
+
+    public double getRowsPerSecond() {
+        long start = firstRowStart.get();
+        if (start == 0) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        return elapsed <= 0 ? 0 : rowsExecuted.get() * 1000000000d / elapsed;
+    }
+
+    public long getTestInstancesCreated() {
+        return testInstancesCreated.get();
+    }
+
+    public double getCreateTestTime() {
+        return millis(createTestNanos);
+    }
+
+    public double getPrepareTestInstanceTime() {
+        return millis(prepareTestInstanceNanos);
+    }
+
+    public double getProxyCreationTime() {
+        return millis(proxyCreationNanos);
+    }
+
+    public double getDataLoadTime() {
+        return millis(dataLoadNanos);
+    }
+
+    public double getOutputWriteTime() {
+        return millis(outputWriteNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "RunnerMetrics [testClassName=" + testClassName + ", rowsExecuted=" + getRowsExecuted()
+            + ", rowsPending=" + getRowsPending() + ", createTestTime=" + getCreateTestTime()
+            + ", prepareTestInstanceTime=" + getPrepareTestInstanceTime() + ", proxyCreationTime="
+            + getProxyCreationTime() + ", dataLoadTime=" + getDataLoadTime() + ", outputWriteTime="
+            + getOutputWriteTime() + "]";
+    }
+
+    private static double millis(AtomicLong nanos) {
+        return nanos.get() / 1000000d;
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.easetech.easytest.runner;
+
+/**
+ * The management interface of the {@link RunnerMetrics} of a {@link SpringTestRunner}, as shown by JMX clients such as
+ * JConsole. The times are the totals of all the rows run so far, in milliseconds.
+ *
+ */
+public interface RunnerMetricsMBean {
+
+    /**
+     * @return the name of the test class
+     */
+    String getTestClassName();
+
+    /**
+     * @return the number of rows run so far
+     */
+    long getRowsExecuted();
+
+    /**
+     * @return the number of rows created but not run yet
+     */
+    long getRowsPending();
+
+    /**
+     * @return the number of rows run per second since the first row started
+     */
+    double getRowsPerSecond();
+
+    /**
+     * @return the number of test instances created
+     */
+    long getTestInstancesCreated();
+
+    /**
+     * @return the time spent creating the test instances, including preparing and instrumenting them
+     */
+    double getCreateTestTime();
+
+    /**
+     * @return the time spent preparing the test instances with the Spring TestContextManager
+     */
+    double getPrepareTestInstanceTime();
+
+    /**
+     * @return the time spent creating the proxies of the Intercept and Duration fields
+     */
+    double getProxyCreationTime();
+
+    /**
+     * @return the time spent loading the test data and creating the rows
+     */
+    double getDataLoadTime();
+
+    /**
+     * @return the time spent recording the output of the rows and writing the test data and reports once the test
+     *         class has run
+     */
+    double getOutputWriteTime();
+
+}
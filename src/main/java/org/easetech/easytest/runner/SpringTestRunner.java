@@ -16,37 +16,65 @@
 
 package org.easetech.easytest.runner;
 
+import java.io.File;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
-import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.Factory;
 
 import org.easetech.easytest.annotation.Converters;
 import org.easetech.easytest.annotation.DataLoader;
 import org.easetech.easytest.annotation.Duration;
 import org.easetech.easytest.annotation.Intercept;
+import org.easetech.easytest.annotation.LazyDataLoading;
 import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.annotation.StreamOutputData;
+import org.easetech.easytest.annotation.WarmUpContext;
 import org.easetech.easytest.converter.Converter;
 import org.easetech.easytest.converter.ConverterManager;
+import org.easetech.easytest.converter.ConverterRegistry;
 import org.easetech.easytest.exceptions.ParamAssertionError;
-import org.easetech.easytest.interceptor.Empty;
 import org.easetech.easytest.interceptor.InternalInterceptor;
 import org.easetech.easytest.interceptor.InternalInvocationhandler;
+import org.easetech.easytest.interceptor.RecordingInterceptor;
+import org.easetech.easytest.interceptor.RecordingInvocationhandler;
 import org.easetech.easytest.interceptor.InternalSpringInterceptor;
 import org.easetech.easytest.interceptor.MethodIntercepter;
+import org.easetech.easytest.interceptor.ProxyClassCache;
+import org.easetech.easytest.internal.SpringSystemProperties;
 import org.easetech.easytest.loader.DataLoaderUtil;
-import org.easetech.easytest.reports.data.DurationObserver;
+import org.easetech.easytest.loader.DatasetCache;
+import org.easetech.easytest.loader.MethodDataLoader;
+import org.easetech.easytest.loader.RowSelection;
+import org.easetech.easytest.loader.RowShard;
+import org.easetech.easytest.loader.SharedDatasetCache;
+import org.easetech.easytest.reports.data.HistogramDurationObserver;
 import org.easetech.easytest.reports.data.ReportDataContainer;
+import org.easetech.easytest.reports.data.StreamingReportDataContainer;
 import org.easetech.easytest.reports.data.TestResultBean;
+import org.easetech.easytest.reports.impl.DurationPercentileReport;
+import org.easetech.easytest.runner.InstrumentationPlan.InstrumentedField;
+import org.easetech.easytest.runner.InstrumentationPlan.ProxyKind;
+import org.easetech.easytest.runner.RunnerEvents.Phase;
+import org.easetech.easytest.strategy.SpringSchedulerStrategy;
 import org.easetech.easytest.util.RunAftersWithOutputData;
 import org.easetech.easytest.util.TestInfo;
+import org.easetech.easytest.util.WritableDataAccumulator;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -55,15 +83,20 @@ import org.junit.Test;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.ParentRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.RunnerScheduler;
 import org.junit.runners.model.Statement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.framework.AopConfigException;
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestContextManager;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.junit4.statements.RunAfterTestClassCallbacks;
 
@@ -104,9 +137,10 @@ import org.springframework.test.context.junit4.statements.RunAfterTestClassCallb
 public class SpringTestRunner extends SpringJUnit4ClassRunner {
 
     /**
-     * An instance of {@link Map} that contains the data to be written to the File
+     * An instance of {@link Map} that contains the data to be written to the File. The output of the rows is
+     * accumulated per method so that rows running in parallel never write into a shared row.
      */
-    private Map<String, List<Map<String, Object>>> writableData = new HashMap<String, List<Map<String, Object>>>();
+    private final WritableDataAccumulator writableData;
 
     /**
      * The report container which holds all the reporting data
@@ -124,9 +158,86 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
     private final List<FrameworkMethod> frameworkMethods;
 
     /**
-     * An observer that is responsible for capturing the Duration of a methd under test
+     * An observer that is responsible for capturing the Duration of a methd under test. It keeps a histogram per
+     * intercepted method, whose percentiles are reported once the test class has run.
      */
-    private final DurationObserver durationObserver = new DurationObserver();
+    private final HistogramDurationObserver durationObserver = new HistogramDurationObserver();
+
+    /**
+     * The fields of the test class that are replaced by proxies, resolved once when the runner is constructed
+     */
+    private final InstrumentationPlan instrumentationPlan;
+
+    /**
+     * The converters of the test class and its test methods, resolved once when the runner is constructed
+     */
+    private final ConverterRegistry converterRegistry;
+
+    /**
+     * The loader of the test data of a single method, or null if the test data is loaded by the
+     * {@link DataLoaderUtil} of EasyTest core
+     */
+    private final MethodDataLoader methodDataLoader;
+
+    /**
+     * Whether the test data of a method is loaded only when the method runs
+     */
+    private final boolean lazyDataLoading;
+
+    /**
+     * The pool of worker JVMs that run the rows, or null if the rows are run by this JVM
+     */
+    private final RowWorkerPool rowWorkerPool;
+
+    /**
+     * The rows of this test class handed out to the worker JVMs
+     */
+    private final RowWorkerPool.RowBatch remoteRows;
+
+    /**
+     * The index of every row among the rows of its test method, as computed before the rows are filtered. The worker
+     * JVMs identify the rows by this index.
+     */
+    private final Map<FrameworkMethod, Integer> rowIndexes = new IdentityHashMap<FrameworkMethod, Integer>();
+
+    /**
+     * The class loaders and interfaces of the JDK proxies used to capture the {@link Duration} of the fields of the test
+     * class, keyed by the interface of the field
+     */
+    private final ConcurrentMap<Class<?>, JDKProxyType> jdkProxyTypes = new ConcurrentHashMap<Class<?>, JDKProxyType>();
+
+    /**
+     * The CGLIB proxy classes used to capture the {@link Duration} of the fields of the test class
+     */
+    private final ProxyClassCache proxyClassCache = new ProxyClassCache();
+
+    /**
+     * The live counters of this runner, registered as an MBean while the test class runs
+     */
+    private final RunnerMetrics metrics;
+
+    /**
+     * The time at which the last child of the test class finished, in nanoseconds
+     */
+    private volatile long childrenFinished;
+
+    /**
+     * Whether the JVM has a Flight Recorder, in which case the {@link RunnerEvents} of this runner are begun and
+     * recorded by any recording running at the time, even one started after this runner was created
+     */
+    private final boolean eventsAvailable;
+
+    /**
+     * The row that is running on the current thread, and its index among the rows of its test method
+     */
+    private final ThreadLocal<FrameworkMethod> currentRow = new ThreadLocal<FrameworkMethod>();
+
+    private final ThreadLocal<Integer> currentRowIndex = new ThreadLocal<Integer>();
+
+    /**
+     * The event of the output data and reports being written once the children have run
+     */
+    private volatile Object outputWritingEvent;
 
     /**
      * 
@@ -137,16 +248,61 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
      */
     public SpringTestRunner(Class<?> clazz) throws InitializationError {
         super(clazz);
-        setSchedulingStrategy();
+        metrics = new RunnerMetrics(clazz);
+        eventsAvailable = RunnerEvents.isAvailable();
+        writableData = createWritableData(getTestClass().getJavaClass());
+        warmUpApplicationContext();
         RunnerUtil.loadBeanConfiguration(getTestClass().getJavaClass());
-        RunnerUtil.loadClassLevelData(clazz, getTestClass(), writableData);
+        lazyDataLoading = isLazyDataLoading(getTestClass().getJavaClass());
+        rowWorkerPool = lazyDataLoading ? null : RowWorkerPool.getInstance();
+        remoteRows = rowWorkerPool != null ? rowWorkerPool.newBatch() : null;
+        if (lazyDataLoading || rowWorkerPool != null) {
+            super.setScheduler(new RunnerScheduler() {
+
+                public void schedule(Runnable childStatement) {
+                    childStatement.run();
+                }
+
+                public void finished() {
+                    if (remoteRows != null) {
+                        awaitRemoteRows();
+                    }
+                }
+            });
+        } else {
+            // the scheduler is only created when it runs the children, as its threads are released by finished()
+            setSchedulingStrategy();
+        }
+        if (lazyDataLoading || DatasetCache.getInstance() != null || SharedDatasetCache.getInstance() != null
+            || isRowSubset()) {
+            methodDataLoader = new MethodDataLoader(getTestClass(), writableData, lazyDataLoading);
+        } else {
+            methodDataLoader = null;
+            long loadStart = System.nanoTime();
+            Object event = beginEvent(Phase.DATA_LOADING, null, -1);
+            RunnerUtil.loadClassLevelData(clazz, getTestClass(), writableData);
+            RunnerEvents.end(event);
+            metrics.addDataLoadTime(System.nanoTime() - loadStart);
+        }
 
         try {
             // initialize report container class
             // TODO add condition whether reports must be switched on or off
-            testReportContainer = new ReportDataContainer(getTestClass().getJavaClass());
+            testReportContainer = createReportData(getTestClass().getJavaClass());
             testReportContainer.setDurationList(durationObserver.getDurationList());
+            instrumentationPlan = new InstrumentationPlan(getTestClass());
+            converterRegistry = new ConverterRegistry(getTestClass());
+            long loadStart = System.nanoTime();
+            Object event = beginEvent(Phase.DATA_LOADING, null, -1);
             frameworkMethods = computeMethodsForTest();
+            RunnerEvents.end(event);
+            metrics.addDataLoadTime(System.nanoTime() - loadStart);
+            if (!lazyDataLoading) {
+                metrics.rowsCreated(frameworkMethods.size());
+            }
+            if (rowWorkerPool != null || eventsAvailable) {
+                indexRows();
+            }
 
         } catch (Exception e) {
             LOG.error("Exception occured while instantiating the SpringTestRunner. Exception is : ", e);
@@ -156,12 +312,132 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
     }
     
 
+    /**
+     * Create the {@link TestContextManager} of the test class. The {@link TestContextManager} of Spring keeps the current
+     * test instance and test method in a single {@link org.springframework.test.context.TestContext} that every
+     * callback first updates and then passes to the listeners. When the rows run in parallel, see
+     * {@link SpringSchedulerStrategy#isParallel(Class)}, every running row therefore gets a {@link TestContextManager}
+     * of its own, so that a listener always sees the state of the row it is invoked for without the rows waiting for
+     * each other. Otherwise the rows share the single {@link TestContextManager} of the test class, which also receives
+     * the class level callbacks.
+     * 
+     * @param clazz the test class to be managed
+     * @return a {@link TestContextManager}
+     */
+    @Override
+    protected TestContextManager createTestContextManager(Class<?> clazz) {
+        if (SpringSchedulerStrategy.isParallel(clazz)) {
+            return new RowTestContextManager(clazz);
+        }
+        return super.createTestContextManager(clazz);
+    }
+
+    /**
+     * Create the {@link WritableDataAccumulator} that holds the data to be written to the File. The output data is
+     * spilled to disk if the "test.streamOutputData" system property is true, or if the property is not set and the
+     * test class, or its {@link org.easetech.easytest.annotation.TestPolicy} class, is annotated with
+     * {@link StreamOutputData}.
+     * 
+     * @param testClass the class under test
+     * @return a {@link WritableDataAccumulator}
+     */
+    private WritableDataAccumulator createWritableData(Class<?> testClass) {
+        StreamOutputData streamOutputData = SpringSchedulerStrategy.getPolicyAnnotation(testClass,
+            StreamOutputData.class);
+        String streamProperty = System.getProperty(SpringSystemProperties.STREAM_OUTPUT_DATA.getValue());
+        boolean spilling = streamProperty != null ? Boolean.valueOf(streamProperty) : streamOutputData != null;
+        String spillDirectory = System.getProperty(SpringSystemProperties.OUTPUT_SPILL_DIRECTORY.getValue());
+        if (spillDirectory == null && streamOutputData != null && !"".equals(streamOutputData.spillDirectory())) {
+            spillDirectory = streamOutputData.spillDirectory();
+        }
+        return new WritableDataAccumulator(spillDirectory != null ? new File(spillDirectory) : null, spilling);
+    }
+
+    /**
+     * Create the {@link ReportDataContainer} that holds the report data of the rows. The report data is appended to a
+     * file as soon as every row completes if the "test.streamReportData" system property is true, or if the property is
+     * not set and the output data is spilled to disk.
+     * 
+     * @param testClass the class under test
+     * @return a {@link ReportDataContainer}
+     */
+    private ReportDataContainer createReportData(Class<?> testClass) {
+        String streamProperty = System.getProperty(SpringSystemProperties.STREAM_REPORT_DATA.getValue());
+        boolean streaming = streamProperty != null ? Boolean.valueOf(streamProperty) : writableData.isSpilling();
+        return streaming ? new StreamingReportDataContainer(testClass, writableData.getSpillDirectory())
+            : new ReportDataContainer(testClass);
+    }
+
+    /**
+     * Determine whether the test data is to be loaded only when a test method runs, that is if the
+     * "test.lazyDataLoading" system property is true, or if the property is not set and the test class, or its
+     * {@link org.easetech.easytest.annotation.TestPolicy} class, is annotated with {@link LazyDataLoading}. In that
+     * case the test methods are run one after the other, and the scheduler of the test class runs the rows of each
+     * method.
+     * 
+     * @param testClass the class under test
+     * @return true if the test data is loaded when a test method runs, false if it is loaded up front
+     */
+    private boolean isLazyDataLoading(Class<?> testClass) {
+        String lazyProperty = System.getProperty(SpringSystemProperties.LAZY_DATA_LOADING.getValue());
+        return lazyProperty != null ? Boolean.valueOf(lazyProperty) : SpringSchedulerStrategy.getPolicyAnnotation(
+            testClass, LazyDataLoading.class) != null;
+    }
+
+    /**
+     * Determine whether only a subset of the test data rows is run, as set by the {@link RowSelection} or the
+     * {@link RowShard}. A test class may then have no row left to run at all.
+     * 
+     * @return true if only some of the rows are run
+     */
+    private static boolean isRowSubset() {
+        return RowSelection.getInstance() != null || RowShard.getInstance() != null;
+    }
+
+    /**
+     * Start loading the Spring ApplicationContext of the test class on a background thread, so that it loads while
+     * the test data is loaded and the test methods are computed. The context is loaded in the background if the
+     * "test.contextWarmUp" system property is true, or if the property is not set and the test class, or its
+     * {@link org.easetech.easytest.annotation.TestPolicy} class, is annotated with {@link WarmUpContext}.
+     * <br>
+     * Spring caches the loaded context and loads a context only once at a time, so the first test instance simply
+     * waits for the context if it is still loading.
+     */
+    protected void warmUpApplicationContext() {
+        Class<?> testClass = getTestClass().getJavaClass();
+        String warmUpProperty = System.getProperty(SpringSystemProperties.CONTEXT_WARM_UP.getValue());
+        boolean warmUp = warmUpProperty != null ? Boolean.valueOf(warmUpProperty) : SpringSchedulerStrategy
+            .getPolicyAnnotation(testClass, WarmUpContext.class) != null;
+        if (!warmUp) {
+            return;
+        }
+        final TestContext testContext = getTestContextManager().getTestContext();
+        Thread warmUpThread = new Thread(new Runnable() {
+
+            public void run() {
+                long start = System.nanoTime();
+                try {
+                    testContext.getApplicationContext();
+                    LOG.debug("Loading the ApplicationContext in the background took: {} ms.",
+                        (System.nanoTime() - start) / 1000000);
+                } catch (Throwable e) {
+                    LOG.warn("Could not load the ApplicationContext in the background. "
+                        + "It will be loaded again when the first test instance is prepared.", e);
+                }
+            }
+        }, "easytest-context-warm-up-" + testClass.getSimpleName());
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
     /**
      * Set whether the tests should be run in parallel or serial.
+     * 
+     * @see SpringSchedulerStrategy#getScheduler(Class)
      */
     protected void setSchedulingStrategy() {
         Class<?> testClass = getTestClass().getJavaClass();
-        super.setScheduler(RunnerUtil.getScheduler(testClass));
+        super.setScheduler(SpringSchedulerStrategy.getScheduler(testClass));
 
     }
 
@@ -178,13 +454,307 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
 
     protected List<FrameworkMethod> computeMethodsForTest() {
 
-        List<FrameworkMethod> finalList = RunnerUtil.testMethods(getTestClass(), testReportContainer, writableData);
-        if (finalList.isEmpty()) {
+        List<FrameworkMethod> finalList;
+        if (lazyDataLoading) {
+            finalList = new ArrayList<FrameworkMethod>();
+            for (FrameworkMethod method : getTestClass().getAnnotatedMethods(Test.class)) {
+                finalList.add(new LazyFrameworkMethod(method.getMethod()));
+            }
+        } else if (methodDataLoader != null) {
+            finalList = new ArrayList<FrameworkMethod>();
+            for (FrameworkMethod method : getTestClass().getAnnotatedMethods(Test.class)) {
+                finalList.addAll(loadRows(method));
+            }
+        } else {
+            finalList = RunnerUtil.testMethods(getTestClass(), testReportContainer, writableData);
+        }
+        if (finalList.isEmpty() && !isRowSubset()) {
             Assert.fail("No method exists for the Test Runner");
         }
         return finalList;
     }
-    
+
+    /**
+     * Load the test data of the given method using the {@link MethodDataLoader}, and create a {@link FrameworkMethod}
+     * per row of test data, or a single one if the method has no test data. No {@link FrameworkMethod} is created for
+     * the rows left out by the {@link RowSelection} or the {@link RowShard}.
+     * 
+     * @param method the test method
+     * @return the rows of the test method
+     */
+    private List<FrameworkMethod> loadRows(FrameworkMethod method) {
+        List<FrameworkMethod> rows = new ArrayList<FrameworkMethod>();
+        List<FrameworkMethod> methods = Collections.<FrameworkMethod> singletonList(method);
+        boolean withData = methodDataLoader.load(method);
+        if (methodDataLoader.isDeselected(method)) {
+            return rows;
+        }
+        if (withData) {
+            RunnerUtil.handleMethodsWithData(methods, rows, getTestClass(), testReportContainer);
+        } else {
+            RunnerUtil.handleMethodsWithNoData(methods, rows, testReportContainer);
+        }
+        return rows;
+    }
+
+    /**
+     * Run the test class. The {@link RunnerMetrics} of the runner are registered while the test class runs, and are
+     * unregistered together with the spill files of the output data and of the report data once it has run. This is
+     * done here rather than once the {@link AfterClass} methods have run, as JUnit skips the latter altogether when all
+     * the children are ignored.
+     * 
+     * @param notifier the {@link RunNotifier}
+     */
+    @Override
+    public void run(RunNotifier notifier) {
+        metrics.register();
+        try {
+            super.run(notifier);
+        } finally {
+            writableData.release();
+            if (testReportContainer instanceof StreamingReportDataContainer) {
+                ((StreamingReportDataContainer) testReportContainer).release();
+            }
+            metrics.unregister();
+        }
+    }
+
+    /**
+     * Describe the child. A test method whose data is not loaded yet is described as a single test, as its rows are
+     * only known once it runs, after the {@link Description} of the test class has been handed out.
+     * 
+     * @param method the child
+     * @return the {@link Description} of the child
+     */
+    @Override
+    protected Description describeChild(FrameworkMethod method) {
+        if (method instanceof LazyFrameworkMethod) {
+            return Description.createTestDescription(getTestClass().getJavaClass(), testName(method),
+                method.getAnnotations());
+        }
+        return super.describeChild(method);
+    }
+
+    /**
+     * Run the child. A test method whose data is not loaded yet is run as a single test, by loading its data, running
+     * each of its rows using the scheduler of the test class and releasing its data again. The failures of the rows are
+     * reported against the {@link Description} of the test method.
+     * 
+     * @param method the child
+     * @param notifier the {@link RunNotifier}
+     */
+    @Override
+    protected void runChild(FrameworkMethod method, final RunNotifier notifier) {
+        if (rowWorkerPool != null && !isTestMethodIgnored(method)) {
+            runRemoteRow((EasyFrameworkMethod) method, notifier);
+            return;
+        }
+        if (!(method instanceof LazyFrameworkMethod)) {
+            Integer rowIndex = eventsAvailable ? rowIndexes.get(method) : null;
+            runRow(method, rowIndex != null ? rowIndex.intValue() : -1, notifier);
+            return;
+        }
+        Description description = describeChild(method);
+        if (isTestMethodIgnored(method)) {
+            notifier.fireTestIgnored(description);
+            return;
+        }
+        notifier.fireTestStarted(description);
+        try {
+            runRows(method, new MethodRowsNotifier(notifier, description));
+        } finally {
+            notifier.fireTestFinished(description);
+        }
+    }
+
+    /**
+     * Load the data of a test method whose data is not loaded yet, run each of its rows using the scheduler of the test
+     * class and release its data again
+     * 
+     * @param method the test method
+     * @param notifier the {@link RunNotifier} of the rows
+     */
+    private void runRows(FrameworkMethod method, final RunNotifier notifier) {
+        List<FrameworkMethod> rows;
+        long loadStart = System.nanoTime();
+        Object event = beginEvent(Phase.DATA_LOADING, method, -1);
+        try {
+            rows = loadRows(method);
+        } catch (Throwable e) {
+            methodDataLoader.release(method);
+            notifier.fireTestFailure(new Failure(describeChild(method), e));
+            return;
+        } finally {
+            RunnerEvents.end(event);
+            metrics.addDataLoadTime(System.nanoTime() - loadStart);
+        }
+        metrics.rowsCreated(rows.size());
+        RunnerScheduler rowScheduler = SpringSchedulerStrategy.getScheduler(getTestClass().getJavaClass());
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                final FrameworkMethod row = rows.get(i);
+                final int rowIndex = i;
+                Runnable rowStatement = new Runnable() {
+
+                    public void run() {
+                        runRow(row, rowIndex, notifier);
+                    }
+                };
+                if (rowScheduler == null) {
+                    rowStatement.run();
+                } else {
+                    rowScheduler.schedule(rowStatement);
+                }
+            }
+            if (rowScheduler != null) {
+                rowScheduler.finished();
+            }
+        } finally {
+            methodDataLoader.release(method);
+        }
+    }
+
+    /**
+     * Run a single row in this JVM
+     * 
+     * @param row the row
+     * @param rowIndex the index of the row among the rows of its test method, or -1 if it is not known
+     * @param notifier the {@link RunNotifier}
+     */
+    private void runRow(FrameworkMethod row, int rowIndex, RunNotifier notifier) {
+        metrics.rowStarted();
+        Object event = beginEvent(Phase.ROW_INVOCATION, row, rowIndex);
+        currentRow.set(row);
+        currentRowIndex.set(Integer.valueOf(rowIndex));
+        TestContextManager testContextManager = getTestContextManager();
+        RowTestContextManager rowContextManager = null;
+        if (testContextManager instanceof RowTestContextManager) {
+            rowContextManager = (RowTestContextManager) testContextManager;
+            rowContextManager.rowStarted();
+        }
+        try {
+            super.runChild(row, notifier);
+        } finally {
+            if (rowContextManager != null) {
+                rowContextManager.rowFinished();
+            }
+            currentRow.remove();
+            currentRowIndex.remove();
+            RunnerEvents.end(event);
+            metrics.rowExecuted();
+        }
+    }
+
+    /**
+     * Begin a {@link RunnerEvents} event of this runner, if the JVM has a Flight Recorder
+     * 
+     * @param phase the phase of the runner
+     * @param method the test method, or null
+     * @param rowIndex the index of the row among the rows of the test method, or -1
+     * @return the event to end, or null
+     */
+    private Object beginEvent(Phase phase, FrameworkMethod method, int rowIndex) {
+        if (!eventsAvailable) {
+            return null;
+        }
+        return RunnerEvents.begin(phase, getTestClass().getJavaClass(), method != null ? method.getMethod() : null,
+            rowIndex);
+    }
+
+    /**
+     * Begin a {@link RunnerEvents} event of this runner for the row running on the current thread
+     * 
+     * @param phase the phase of the runner
+     * @return the event to end, or null
+     */
+    private Object beginRowEvent(Phase phase) {
+        if (!eventsAvailable) {
+            return null;
+        }
+        Integer rowIndex = currentRowIndex.get();
+        return beginEvent(phase, currentRow.get(), rowIndex != null ? rowIndex.intValue() : -1);
+    }
+
+    /**
+     * Compute the index of every row among the rows of its test method
+     */
+    private void indexRows() {
+        Map<Method, Integer> rowCounts = new HashMap<Method, Integer>();
+        for (FrameworkMethod row : frameworkMethods) {
+            Integer rowIndex = rowCounts.get(row.getMethod());
+            rowIndex = rowIndex == null ? Integer.valueOf(0) : Integer.valueOf(rowIndex.intValue() + 1);
+            rowCounts.put(row.getMethod(), rowIndex);
+            rowIndexes.put(row, rowIndex);
+        }
+    }
+
+    /**
+     * Hand the given row out to the next available worker JVM. The notifier is told about the row once the worker has
+     * run it, and the output and report data of the row are recorded as if the row had run in this JVM.
+     * 
+     * @param row the row
+     * @param notifier the {@link RunNotifier}
+     */
+    private void runRemoteRow(final EasyFrameworkMethod row, final RunNotifier notifier) {
+        final Description description = describeChild(row);
+        RowWorker.Request request = new RowWorker.Request(getTestClass().getJavaClass().getName(), row.getMethod()
+            .getName(), rowIndexes.get(row).intValue());
+        remoteRows.submit(request, new RowWorkerPool.RowListener() {
+
+            private volatile Object event;
+
+            public void started() {
+                metrics.rowStarted();
+                event = beginEvent(Phase.ROW_INVOCATION, row, rowIndexes.get(row).intValue());
+                notifier.fireTestStarted(description);
+            }
+
+            public void finished(RowWorker.Result result) {
+                try {
+                    if (row.getTestResult() != null) {
+                        result.copyTo(row.getTestResult());
+                    }
+                    if (result.outputRow != null) {
+                        long writeStart = System.nanoTime();
+                        recordOutput(row, row.getTestData(), result.outputRow);
+                        metrics.addOutputWriteTime(System.nanoTime() - writeStart);
+                    }
+                    if (result.ignored) {
+                        notifier.fireTestIgnored(description);
+                    } else if (result.failure != null && result.assumptionFailure) {
+                        notifier.fireTestAssumptionFailed(new Failure(description, result.failure));
+                    } else if (result.failure != null) {
+                        notifier.fireTestFailure(new Failure(description, result.failure));
+                    }
+                } finally {
+                    reportRow(row.getTestResult());
+                    notifier.fireTestFinished(description);
+                    RunnerEvents.end(event);
+                    metrics.rowExecuted();
+                }
+            }
+
+            public void failed(Throwable e) {
+                try {
+                    notifier.fireTestFailure(new Failure(description, e));
+                } finally {
+                    reportRow(row.getTestResult());
+                    notifier.fireTestFinished(description);
+                    RunnerEvents.end(event);
+                    metrics.rowExecuted();
+                }
+            }
+        });
+    }
+
+    private void awaitRemoteRows() {
+        try {
+            remoteRows.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
 
     /**
      * Get the instance of the class under test
@@ -226,32 +796,37 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
     }
     
     /**
-     * Override the filter method from {@link ParentRunner} so that individual tests can be run using EasyTest
+     * Override the filter method from {@link ParentRunner} so that individual tests can be run using EasyTest. All the
+     * rows of a test method are described the same way, so the filter is asked only once per test method. To run only
+     * some rows of a test method, use the {@link RowSelection} instead, which leaves out the other rows before they are
+     * created.
      * 
      * @param filter
      * @throws NoTestsRemainException
      */
     public void filter(Filter filter) throws NoTestsRemainException {
-
+        Map<Method, Boolean> shouldRun = new HashMap<Method, Boolean>();
+        int filteredRows = 0;
         for (Iterator<FrameworkMethod> iter = frameworkMethods.iterator(); iter.hasNext();) {
             FrameworkMethod each = iter.next();
-            if (shouldRun(filter, each))
-                try {
-                    filter.apply(each);
-                } catch (NoTestsRemainException e) {
-                    iter.remove();
-                }
-            else
+            Boolean run = shouldRun.get(each.getMethod());
+            if (run == null) {
+                run = Boolean.valueOf(filter.shouldRun(describeFiltarableChild(each)));
+                shouldRun.put(each.getMethod(), run);
+            }
+            if (!run.booleanValue()) {
                 iter.remove();
+                filteredRows++;
+            }
+        }
+        if (!lazyDataLoading) {
+            // the rows of the methods whose data is loaded lazily are only counted once they are loaded
+            metrics.rowsFiltered(filteredRows);
         }
         if (frameworkMethods.isEmpty()) {
             throw new NoTestsRemainException();
         }
     }
-    
-    private boolean shouldRun(Filter filter, FrameworkMethod each) {
-        return filter.shouldRun(describeFiltarableChild(each));
-    }
 
     private Description describeFiltarableChild(FrameworkMethod each) {
         return Description.createTestDescription(getTestClass().getJavaClass(), each.getMethod().getName(),
@@ -269,27 +844,27 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
      */
     protected void instrumentClass(Class<?> testClass, Object testInstance) throws IllegalArgumentException,
         IllegalAccessException, AopConfigException, InstantiationException {
-        Field[] fields = testClass.getDeclaredFields();
+        InstrumentationPlan plan = testClass == getTestClass().getJavaClass() ? instrumentationPlan
+            : new InstrumentationPlan(testClass);
         try {
-            for (Field field : fields) {
-                field.setAccessible(true);
-                Intercept interceptor = field.getAnnotation(Intercept.class);
-                if (interceptor != null) {
-                    Class<? extends MethodIntercepter> interceptorClass = interceptor.interceptor();
+            for (InstrumentedField instrumentedField : plan.getClassFields()) {
+                Field field = instrumentedField.getField();
+                if (instrumentedField.getProxyKind() == ProxyKind.SPRING_AOP) {
+                    Class<? extends MethodIntercepter> interceptorClass = instrumentedField.getInterceptor();
                     // This is the field we want to enhance
                     Object fieldInstance = field.get(testInstance);
                     ProxyFactory factory = new ProxyFactory();
                     factory.setTarget(fieldInstance);
                     InternalSpringInterceptor internalIntercepter = new InternalSpringInterceptor();
                     internalIntercepter.setUserIntercepter(interceptorClass.newInstance());
+                    internalIntercepter.setTargetInstance(fieldInstance);
+                    internalIntercepter.setExpectedRunTime(instrumentedField.getTimeInMillis());
+                    internalIntercepter.setDurationObserver(durationObserver);
                     factory.addAdvice(internalIntercepter);
                     Object proxy = factory.getProxy();
                     field.set(testInstance, proxy);
                 } else {
-                    Duration duration = field.getAnnotation(Duration.class);
-                    if (duration != null) {
-                        provideProxyWrapperFor(duration.interceptor(), duration.timeInMillis(), field, testInstance);
-                    }
+                    provideProxyWrapperFor(instrumentedField, testInstance);
                 }
             }
 
@@ -300,7 +875,8 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
     }
     
     /**
-     * Method responsible for registering the converters with the EasyTest framework
+     * Method responsible for registering the converters with the EasyTest framework. The runner itself does not call
+     * this method for every row, but installs the converters resolved by its {@link ConverterRegistry} instead.
      * 
      * @param converter the annotation {@link Converters}
      */
@@ -392,6 +968,8 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
 
                     }
 
+                } finally {
+                    reportRow(testResult);
                 }
 
             }
@@ -404,12 +982,22 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
      * constructor (validation should have ensured one exists).
      */
     protected Object createTest() throws Exception {
+        long createStart = System.nanoTime();
         Object testInstance = getTestClass().getOnlyConstructor().newInstance();
         loadTestConfigurations(testInstance);
         loadResourceProperties(testInstance);
+        long prepareStart = System.nanoTime();
+        Object event = beginRowEvent(Phase.CONTEXT_PREPARATION);
         getTestContextManager().prepareTestInstance(testInstance);
+        RunnerEvents.end(event);
+        long instrumentStart = System.nanoTime();
+        metrics.addPrepareTestInstanceTime(instrumentStart - prepareStart);
+        event = beginRowEvent(Phase.INSTRUMENTATION);
         instrumentClass(getTestClass().getJavaClass(), testInstance);
-        registerConverter(getTestClass().getJavaClass().getAnnotation(Converters.class));
+        RunnerEvents.end(event);
+        metrics.addProxyCreationTime(System.nanoTime() - instrumentStart);
+        converterRegistry.install();
+        metrics.addCreateTestTime(System.nanoTime() - createStart);
         return testInstance;
 
     }
@@ -417,56 +1005,134 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
      * Returns a {@link Statement} that invokes {@code method} on {@code test}
      */
     protected Statement methodInvoker(FrameworkMethod method, Object testInstance) {
-        registerConverter(method.getAnnotation(Converters.class));
-        if (method.getAnnotation(Duration.class) != null) {
-            try {
-                handleDuration(method, testInstance);
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException(e);
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            } catch (InstantiationException e) {
-                throw new RuntimeException(e);
-            }
+        converterRegistry.install(method.getMethod());
+        long instrumentStart = System.nanoTime();
+        Object event = beginRowEvent(Phase.INSTRUMENTATION);
+        try {
+            handleDuration(method, testInstance);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InstantiationException e) {
+            throw new RuntimeException(e);
+        } finally {
+            RunnerEvents.end(event);
+        }
+        metrics.addProxyCreationTime(System.nanoTime() - instrumentStart);
+        EasyFrameworkMethod row = (EasyFrameworkMethod) method;
+        if (row.getTestData() == null) {
+            return new InternalParameterizedStatement(null, row, getTestClass(), testInstance);
         }
-        return new InternalParameterizedStatement(null, (EasyFrameworkMethod) method, getTestClass(), testInstance);
+        return withOutputData(row, testInstance);
     }
 
-    private void handleDuration(FrameworkMethod method, Object testInstance) throws IllegalArgumentException,
-        IllegalAccessException, InstantiationException {
-        Duration duration = method.getAnnotation(Duration.class);
-        if (duration != null) {
-            if (!duration.forClass().isAssignableFrom(Empty.class)) {
-                interceptField(duration, getTestClass().getJavaClass(), testInstance);
-            } else {
-                Assert.fail("Duration annotation at the method level should have value for the 'forClass' attribute.");
+    /**
+     * Make sure the report data does not keep the output of a row on the heap once it has been spilled to disk. The
+     * reports only print the output, so it is kept as a String.
+     * 
+     * @param testResult the report data of the row
+     * @param inputRow the input data of the row
+     */
+    private void releaseOutputRow(TestResultBean testResult, Map<String, Object> inputRow) {
+        if (testResult == null) {
+            return;
+        }
+        testResult.setInput(inputRow);
+        if (testResult.getOutput() != null) {
+            testResult.setOutput(testResult.getOutput().toString());
+        }
+    }
+
+    /**
+     * Returns a {@link Statement} that invokes the method with a private copy of the row data and records the copy,
+     * containing the output of the method, in the writable data once the method has been invoked. The row data itself
+     * is shared with the other rows of the same input data, for eg. when using {@link org.easetech.easytest.annotation.Repeat}, and is
+     * therefore never written to.
+     * 
+     * @param row the method to invoke
+     * @param testInstance the test instance
+     * @return a {@link Statement}
+     */
+    private Statement withOutputData(final EasyFrameworkMethod row, Object testInstance) {
+        final Map<String, Object> inputRow = row.getTestData();
+        final Map<String, Object> outputRow = new LinkedHashMap<String, Object>(inputRow);
+        EasyFrameworkMethod isolatedRow = new EasyFrameworkMethod(row.getMethod(), outputRow, row.getTestResult(),
+            row.getMethodNameForTestData());
+        isolatedRow.setName(row.getName());
+        final Statement statement = new InternalParameterizedStatement(null, isolatedRow, getTestClass(),
+            testInstance);
+        return new Statement() {
+
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    statement.evaluate();
+                } finally {
+                    long writeStart = System.nanoTime();
+                    recordOutput(row, inputRow, outputRow);
+                    metrics.addOutputWriteTime(System.nanoTime() - writeStart);
+                }
             }
+        };
+    }
 
+    /**
+     * Report a row once it has completed. When the report data is streamed, the report data of the row is appended to
+     * the report file and released.
+     * 
+     * @param testResult the report data of the row, or null
+     */
+    protected void reportRow(TestResultBean testResult) {
+        if (testResult != null && testReportContainer instanceof StreamingReportDataContainer) {
+            long writeStart = System.nanoTime();
+            ((StreamingReportDataContainer) testReportContainer).rowCompleted(testResult);
+            metrics.addOutputWriteTime(System.nanoTime() - writeStart);
         }
     }
-    
-    private void interceptField(Duration duration, Class<?> testClass, Object testInstance)
-        throws IllegalArgumentException, IllegalAccessException, InstantiationException {
-        Field[] fields = testClass.getDeclaredFields();
-        for (Field field : fields) {
-            field.setAccessible(true);
-            if (field.getType().isAssignableFrom(duration.forClass())) {
-                provideProxyWrapperFor(duration.interceptor(), duration.timeInMillis(), field, testInstance);
 
-            }
+    /**
+     * Record the output of a row in the writable data
+     * 
+     * @param row the row
+     * @param inputRow the input data of the row
+     * @param outputRow the row data containing the output of the method
+     */
+    protected void recordOutput(EasyFrameworkMethod row, Map<String, Object> inputRow, Map<String, Object> outputRow) {
+        if (writableData.addOutput(row.getMethod().getName(), inputRow, outputRow) && writableData.isSpilling()) {
+            releaseOutputRow(row.getTestResult(), inputRow);
         }
     }
 
-    private void provideProxyWrapperFor(Class<? extends MethodIntercepter> interceptor, Long timeInMillies,
-        Field field, Object testInstance) throws IllegalArgumentException, IllegalAccessException,
-        InstantiationException {
+    private void handleDuration(FrameworkMethod method, Object testInstance) throws IllegalArgumentException,
+        IllegalAccessException, InstantiationException {
+        List<InstrumentedField> durationFields = instrumentationPlan.getDurationFields(method.getMethod());
+        if (durationFields == null) {
+            Assert.fail("Duration annotation at the method level should have value for the 'forClass' attribute.");
+        }
+        for (InstrumentedField durationField : durationFields) {
+            provideProxyWrapperFor(durationField, testInstance);
+        }
+    }
+
+    /**
+     * Replace the given field of the test instance by a proxy capturing the {@link Duration} of its methods, using the
+     * kind of proxy determined by the {@link InstrumentationPlan}
+     * 
+     * @param instrumentedField the field, as planned
+     * @param testInstance the test instance
+     */
+    private void provideProxyWrapperFor(InstrumentedField instrumentedField, Object testInstance)
+        throws IllegalArgumentException, IllegalAccessException, InstantiationException {
+        Field field = instrumentedField.getField();
+        Long timeInMillies = instrumentedField.getTimeInMillis();
         Object fieldInstance = field.get(testInstance);
         Object targetInstance = null;
 
         Object proxiedObject = null;
         Class<?> fieldType = field.getType();
-        Class<? extends MethodIntercepter> interceptorClass = interceptor;
-        if (fieldType.isInterface()) {
+        Class<? extends MethodIntercepter> interceptorClass = instrumentedField.getInterceptor();
+        if (instrumentedField.getProxyKind() == ProxyKind.JDK_PROXY) {
             if (Proxy.isProxyClass(fieldInstance.getClass())) {
                 InternalInvocationhandler handler = (InternalInvocationhandler) Proxy
                     .getInvocationHandler(fieldInstance);
@@ -501,30 +1167,41 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
         Class<?> fieldType, Object fieldInstance) throws InstantiationException, IllegalAccessException {
         LOG.debug("The field of type :" + fieldType + " will be proxied using JDK dynamic proxies.");
 
-        ClassLoader classLoader = determineClassLoader(fieldType, getTestClass().getJavaClass());
-
-        Class<?>[] interfaces = { fieldType };
         // use JDK dynamic proxy
-        InternalInvocationhandler handler = new InternalInvocationhandler();
+        InternalInvocationhandler handler = new RecordingInvocationhandler(durationObserver);
         handler.setUserIntercepter(interceptorClass.newInstance());
         handler.setTargetInstance(fieldInstance);
         handler.setExpectedRunTime(timeInMillis);
-        handler.addObserver(durationObserver);
-        return Proxy.newProxyInstance(classLoader, interfaces, handler);
+        return getJDKProxyType(fieldType).newProxy(handler);
+    }
+
+    /**
+     * Get the class loader and the interfaces of the JDK proxies for the given interface. The class loader is
+     * determined only the first time a field of the given interface is proxied by this runner.
+     * 
+     * @param fieldType the interface to proxy
+     * @return the {@link JDKProxyType}
+     */
+    private JDKProxyType getJDKProxyType(Class<?> fieldType) {
+        JDKProxyType proxyType = jdkProxyTypes.get(fieldType);
+        if (proxyType == null) {
+            proxyType = new JDKProxyType(determineClassLoader(fieldType, getTestClass().getJavaClass()), fieldType);
+            JDKProxyType existingProxyType = jdkProxyTypes.putIfAbsent(fieldType, proxyType);
+            if (existingProxyType != null) {
+                proxyType = existingProxyType;
+            }
+        }
+        return proxyType;
     }
 
     private Object getCGLIBProxy(Class<? extends MethodIntercepter> interceptorClass, Long timeInMillis,
         Class<?> fieldType, Object fieldInstance) throws InstantiationException, IllegalAccessException {
         LOG.debug("The field of type :" + fieldType + " will be proxied using CGLIB proxies.");
-        Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(fieldType);
-        InternalInterceptor cglibInterceptor = new InternalInterceptor();
+        InternalInterceptor cglibInterceptor = new RecordingInterceptor(durationObserver);
         cglibInterceptor.setTargetInstance(fieldInstance);
         cglibInterceptor.setUserIntercepter(interceptorClass.newInstance());
         cglibInterceptor.setExpectedRunTime(timeInMillis);
-        cglibInterceptor.addObserver(durationObserver);
-        enhancer.setCallback(cglibInterceptor);
-        return enhancer.create();
+        return proxyClassCache.newCGLIBProxy(fieldType, cglibInterceptor);
     }
 
     /**
@@ -535,7 +1212,8 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
      * 
      * This method is also responsible for writing the data to the output file in case the user is returning test data
      * from the test method. This method will make sure that the data is written to the output file once after the
-     * Runner has completed and not for every instance of the test method.
+     * Runner has completed and not for every instance of the test method. The percentiles of the durations of the
+     * intercepted methods are reported last, see {@link DurationPercentileReport}.
      */
 
     protected Statement withAfterClasses(Statement statement) {
@@ -566,9 +1244,53 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
             }
 
         }
-        RunAftersWithOutputData runAftersWithOutputData = new RunAftersWithOutputData(statement, afters, null,
-            testInfoList, writableData, testReportContainer);
-        return new RunAfterTestClassCallbacks(runAftersWithOutputData, getTestContextManager());
+        final RunAftersWithOutputData runAftersWithOutputData = new RunAftersWithOutputData(withLoadedTestInfo(
+            statement, testInfoList), afters, null, testInfoList, writableData, testReportContainer);
+        Statement reportDurations = new Statement() {
+
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    runAftersWithOutputData.evaluate();
+                } finally {
+                    new DurationPercentileReport(getTestClass().getJavaClass(), durationObserver).report();
+                    RunnerEvents.end(outputWritingEvent);
+                    if (childrenFinished != 0) {
+                        metrics.addOutputWriteTime(System.nanoTime() - childrenFinished);
+                    }
+                }
+            }
+        };
+        return new RunAfterTestClassCallbacks(reportDurations, getTestContextManager());
+    }
+
+    /**
+     * Returns a {@link Statement} that removes the {@link TestInfo} of the methods that have no writable data once the
+     * given statement has been evaluated. With {@link LazyDataLoading}, the data of the methods that did not run, for
+     * eg. because they were filtered out, is never loaded and thus cannot be written back.
+     * 
+     * @param statement the statement running the children
+     * @param testInfoList the list of {@link TestInfo} used to write the data back
+     * @return a {@link Statement}
+     */
+    private Statement withLoadedTestInfo(final Statement statement, final List<TestInfo> testInfoList) {
+        return new Statement() {
+
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    statement.evaluate();
+                } finally {
+                    childrenFinished = System.nanoTime();
+                    outputWritingEvent = beginEvent(Phase.OUTPUT_WRITING, null, -1);
+                    for (Iterator<TestInfo> iter = testInfoList.iterator(); iter.hasNext();) {
+                        if (!writableData.containsKey(iter.next().getMethodName())) {
+                            iter.remove();
+                        }
+                    }
+                }
+            }
+        };
     }
 
     /**
@@ -590,10 +1312,168 @@ public class SpringTestRunner extends SpringJUnit4ClassRunner {
                 }
             }
         } catch (ClassNotFoundException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
+            LOG.warn("Could not find a class loader for the class {} from the test class {}", fieldType.getName(),
+                testClass.getName());
         }
         return null;
     }
 
+    /**
+     * A {@link TestContextManager} that hands the callbacks of every row to a {@link TestContextManager} of its own, so
+     * that rows running in parallel neither share a {@link TestContext} nor wait for each other. The row managers are
+     * pooled and reused by the rows that follow : there are as many of them as rows ever ran at the same time. They all
+     * get the {@link org.springframework.context.ApplicationContext} of the test class from the context cache of Spring.
+     * The class level callbacks are run by this manager.
+     */
+    private static class RowTestContextManager extends TestContextManager {
+
+        private final Class<?> testClass;
+
+        /**
+         * The managers not used by any row
+         */
+        private final Queue<TestContextManager> idleManagers = new ConcurrentLinkedQueue<TestContextManager>();
+
+        /**
+         * The manager of the row running on the current thread
+         */
+        private final ThreadLocal<TestContextManager> rowManager = new ThreadLocal<TestContextManager>();
+
+        RowTestContextManager(Class<?> testClass) {
+            super(testClass);
+            this.testClass = testClass;
+        }
+
+        /**
+         * Take a manager for the row about to run on the current thread
+         */
+        void rowStarted() {
+            TestContextManager manager = idleManagers.poll();
+            rowManager.set(manager != null ? manager : new TestContextManager(testClass));
+        }
+
+        /**
+         * Give the manager of the row that ran on the current thread back
+         */
+        void rowFinished() {
+            TestContextManager manager = rowManager.get();
+            if (manager != null) {
+                rowManager.remove();
+                idleManagers.offer(manager);
+            }
+        }
+
+        @Override
+        public void prepareTestInstance(Object testInstance) throws Exception {
+            TestContextManager manager = rowManager.get();
+            if (manager == null) {
+                synchronized (this) {
+                    super.prepareTestInstance(testInstance);
+                }
+            } else {
+                manager.prepareTestInstance(testInstance);
+            }
+        }
+
+        @Override
+        public void beforeTestMethod(Object testInstance, Method testMethod) throws Exception {
+            TestContextManager manager = rowManager.get();
+            if (manager == null) {
+                synchronized (this) {
+                    super.beforeTestMethod(testInstance, testMethod);
+                }
+            } else {
+                manager.beforeTestMethod(testInstance, testMethod);
+            }
+        }
+
+        @Override
+        public void afterTestMethod(Object testInstance, Method testMethod, Throwable exception) throws Exception {
+            TestContextManager manager = rowManager.get();
+            if (manager == null) {
+                synchronized (this) {
+                    super.afterTestMethod(testInstance, testMethod, exception);
+                }
+            } else {
+                manager.afterTestMethod(testInstance, testMethod, exception);
+            }
+        }
+    }
+
+    /**
+     * The class loader and the interfaces of the JDK proxies of an interface
+     */
+    private static final class JDKProxyType {
+
+        private final ClassLoader classLoader;
+
+        private final Class<?>[] interfaces;
+
+        JDKProxyType(ClassLoader classLoader, Class<?> fieldType) {
+            this.classLoader = classLoader;
+            this.interfaces = new Class<?>[] { fieldType };
+        }
+
+        Object newProxy(InvocationHandler handler) {
+            return Proxy.newProxyInstance(classLoader, interfaces, handler);
+        }
+    }
+
+    /**
+     * Reports the rows of a test method whose data was not loaded when the test class was described against the
+     * {@link Description} of the test method : the failures of the rows are reported as failures of the method, which
+     * starts and finishes once.
+     */
+    private static class MethodRowsNotifier extends RunNotifier {
+
+        private final RunNotifier notifier;
+
+        private final Description description;
+
+        MethodRowsNotifier(RunNotifier notifier, Description description) {
+            this.notifier = notifier;
+            this.description = description;
+        }
+
+        @Override
+        public void fireTestStarted(Description rowDescription) {
+            // the test method has been started
+        }
+
+        @Override
+        public void fireTestFinished(Description rowDescription) {
+            // the test method is finished once all its rows have run
+        }
+
+        @Override
+        public void fireTestIgnored(Description rowDescription) {
+            // a test method is ignored as a whole, before its rows are loaded
+        }
+
+        @Override
+        public void fireTestFailure(Failure failure) {
+            notifier.fireTestFailure(new Failure(description, failure.getException()));
+        }
+
+        @Override
+        public void fireTestAssumptionFailed(Failure failure) {
+            notifier.fireTestAssumptionFailed(new Failure(description, failure.getException()));
+        }
+
+        @Override
+        public void pleaseStop() {
+            notifier.pleaseStop();
+        }
+    }
+
+    /**
+     * A test method whose rows are computed only when the method is run
+     */
+    private static class LazyFrameworkMethod extends EasyFrameworkMethod {
+
+        LazyFrameworkMethod(Method method) {
+            super(method, null, null, method.getName());
+        }
+    }
+
 }
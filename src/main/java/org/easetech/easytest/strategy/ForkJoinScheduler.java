@@ -0,0 +1,129 @@
+package org.easetech.easytest.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.easetech.easytest.annotation.ForkJoinParallel;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * {@link RunnerScheduler} implementation to run the data rows of a test class in parallel on a work stealing
+ * {@link ForkJoinPool}. Every scheduled statement corresponds to a single data row. The statements are collected while
+ * the runner schedules them and are executed when {@link #finished()} is called, by recursively splitting the list of
+ * rows in halves until a task has at most {@link #getGranularity()} rows.
+ *
+ * @see ForkJoinParallel
+ */
+public class ForkJoinScheduler implements RunnerScheduler {
+
+    /**
+     * The {@link ForkJoinPool} that runs the rows
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * The maximum number of rows run by a single task
+     */
+    private final int granularity;
+
+    /**
+     * The rows scheduled so far
+     */
+    private final List<Runnable> rows = new ArrayList<Runnable>();
+
+    /**
+     * Construct a new ForkJoinScheduler that uses all the available processors and runs every row as its own task.
+     */
+    public ForkJoinScheduler() {
+        this(0, 1);
+    }
+
+    /**
+     * Construct a new ForkJoinScheduler
+     *
+     * @param parallelism the number of worker threads. If ZERO or NEGATIVE, the number of available processors is used
+     * @param granularity the maximum number of rows run by a single task. If ZERO or NEGATIVE, ONE is used
+     */
+    public ForkJoinScheduler(int parallelism, int granularity) {
+        this.forkJoinPool = new ForkJoinPool(parallelism <= 0 ? Runtime.getRuntime().availableProcessors()
+            : parallelism);
+        this.granularity = granularity <= 0 ? 1 : granularity;
+    }
+
+    /**
+     * Schedule a Runnable {@link org.junit.runners.model.Statement}. The statement is run when {@link #finished()} is
+     * called.
+     *
+     * @param childStatement a runnable implementation
+     */
+    public void schedule(Runnable childStatement) {
+        rows.add(childStatement);
+    }
+
+    /**
+     * Method called when all the test methods have been scheduled. This method runs all the scheduled rows on the
+     * {@link ForkJoinPool}, waits for them to complete and then shuts the pool down.
+     */
+    public void finished() {
+        try {
+            if (!rows.isEmpty()) {
+                forkJoinPool.invoke(new RowsTask(rows, 0, rows.size(), granularity));
+            }
+        } finally {
+            rows.clear();
+            forkJoinPool.shutdown();
+        }
+    }
+
+    /**
+     * @return the forkJoinPool
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * @return the maximum number of rows run by a single task
+     */
+    public int getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * A {@link RecursiveAction} running a contiguous range of rows. Ranges larger than the granularity are split in
+     * two halves, one of which is left for idle workers to steal.
+     */
+    private static class RowsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Runnable> rows;
+
+        private final int from;
+
+        private final int to;
+
+        private final int granularity;
+
+        RowsTask(List<Runnable> rows, int from, int to, int granularity) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                for (int i = from; i < to; i++) {
+                    rows.get(i).run();
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowsTask(rows, from, middle, granularity), new RowsTask(rows, middle, to, granularity));
+            }
+        }
+    }
+
+}
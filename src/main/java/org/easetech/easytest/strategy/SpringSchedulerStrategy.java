@@ -0,0 +1,116 @@
+package org.easetech.easytest.strategy;
+
+import java.lang.annotation.Annotation;
+import org.easetech.easytest.annotation.ForkJoinParallel;
+import org.easetech.easytest.annotation.Parallel;
+import org.easetech.easytest.annotation.TestPolicy;
+import org.easetech.easytest.annotation.VirtualThreadParallel;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.internal.SystemProperties;
+import org.easetech.easytest.runner.RunnerUtil;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A Strategy class that decides the Scheduler to use to run the data rows of a test class run with the
+ * SpringTestRunner. In addition to the serial and parallel schedulers decided by {@link SchedulerStrategy}, the rows
+ * can be run on a work stealing {@link ForkJoinScheduler} or on virtual threads using {@link VirtualThreadScheduler}.
+ * <br>
+ * The Scheduler is decided in the following order :
+ * <ol>
+ * <li>the "test.forkJoinParallelism" system property</li>
+ * <li>the "test.virtualThreadConcurrency" system property</li>
+ * <li>the {@link ForkJoinParallel} annotation on the test class, or on the class referenced by the
+ * {@link TestPolicy} annotation</li>
+ * <li>the {@link VirtualThreadParallel} annotation on the test class, or on the class referenced by the
+ * {@link TestPolicy} annotation</li>
+ * <li>{@link RunnerUtil#getScheduler(Class)}</li>
+ * </ol>
+ *
+ */
+public class SpringSchedulerStrategy {
+
+    /**
+     * Get the correct Scheduler requested by the user
+     *
+     * @param testClass the Class under test
+     * @return an implementation of {@link RunnerScheduler}
+     */
+    public static RunnerScheduler getScheduler(Class<?> testClass) {
+        ForkJoinParallel forkJoinParallel = getPolicyAnnotation(testClass, ForkJoinParallel.class);
+        String parallelism = System.getProperty(SpringSystemProperties.FORK_JOIN_PARALLELISM.getValue());
+        if (parallelism != null) {
+            int granularity = forkJoinParallel != null ? forkJoinParallel.granularity() : 1;
+            return new ForkJoinScheduler(getIntProperty(SpringSystemProperties.FORK_JOIN_PARALLELISM, 0), getIntProperty(
+                SpringSystemProperties.FORK_JOIN_GRANULARITY, granularity));
+        }
+        String maxConcurrency = System.getProperty(SpringSystemProperties.VIRTUAL_THREAD_CONCURRENCY.getValue());
+        if (maxConcurrency != null) {
+            return new VirtualThreadScheduler(getIntProperty(SpringSystemProperties.VIRTUAL_THREAD_CONCURRENCY, 0));
+        }
+        if (forkJoinParallel != null) {
+            return new ForkJoinScheduler(forkJoinParallel.parallelism(), getIntProperty(
+                SpringSystemProperties.FORK_JOIN_GRANULARITY, forkJoinParallel.granularity()));
+        }
+        VirtualThreadParallel virtualThreadParallel = getPolicyAnnotation(testClass, VirtualThreadParallel.class);
+        if (virtualThreadParallel != null) {
+            return new VirtualThreadScheduler(virtualThreadParallel.maxConcurrency());
+        }
+        return RunnerUtil.getScheduler(testClass);
+    }
+
+    /**
+     * Find out whether the Scheduler requested by the user runs the rows in parallel, without creating it
+     *
+     * @param testClass the Class under test
+     * @return true if the rows are not run one after the other on the calling thread
+     */
+    public static boolean isParallel(Class<?> testClass) {
+        return System.getProperty(SpringSystemProperties.FORK_JOIN_PARALLELISM.getValue()) != null
+            || System.getProperty(SpringSystemProperties.VIRTUAL_THREAD_CONCURRENCY.getValue()) != null
+            || System.getProperty(SystemProperties.PARALLEL_THREAD_COUNT.getValue()) != null
+            || getPolicyAnnotation(testClass, ForkJoinParallel.class) != null
+            || getPolicyAnnotation(testClass, VirtualThreadParallel.class) != null
+            || getPolicyAnnotation(testClass, Parallel.class) != null;
+    }
+
+    /**
+     * Get the annotation from the test class, or if not present, from the class referenced by its {@link TestPolicy}
+     * annotation
+     *
+     * @param testClass the Class under test
+     * @param annotationClass the annotation to look for
+     * @return the annotation or null if none is present
+     */
+    public static <A extends Annotation> A getPolicyAnnotation(Class<?> testClass, Class<A> annotationClass) {
+        A annotation = testClass.getAnnotation(annotationClass);
+        if (annotation == null) {
+            TestPolicy testPolicy = testClass.getAnnotation(TestPolicy.class);
+            if (testPolicy != null) {
+                annotation = testPolicy.value().getAnnotation(annotationClass);
+            }
+        }
+        return annotation;
+    }
+
+    /**
+     * Get the integer value of the system property
+     *
+     * @param property the system property
+     * @param defaultValue the value to return if the property is not set
+     * @return the value of the property
+     * @throws IllegalArgumentException if the value of the property is not an integer
+     */
+    static int getIntProperty(SpringSystemProperties property, int defaultValue) {
+        String value = System.getProperty(property.getValue());
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The system property " + property.getValue()
+                + " must be an integer, but was '" + value + "'", e);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package org.easetech.easytest.strategy;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.easetech.easytest.annotation.VirtualThreadParallel;
+import org.junit.runners.model.RunnerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link RunnerScheduler} implementation that runs every data row on its own virtual thread. The number of rows that
+ * run at the same time can be limited, in which case scheduling a row blocks until a running row has completed.
+ * <br>
+ * Virtual threads are created through <code>Executors.newVirtualThreadPerTaskExecutor()</code>, which is looked up
+ * reflectively so that the framework still runs on JVMs older than Java 21. On such JVMs the rows are run by a fixed
+ * pool of platform threads instead, as many as the maximum number of rows running at the same time, or
+ * {@link #DEFAULT_PLATFORM_THREADS_PER_PROCESSOR} per available processor if there is no limit.
+ *
+ * @see VirtualThreadParallel
+ */
+public class VirtualThreadScheduler implements RunnerScheduler {
+
+    /**
+     * An instance of logger associated with the test framework.
+     */
+    protected static final Logger LOG = LoggerFactory.getLogger(VirtualThreadScheduler.class);
+
+    /**
+     * The <code>Executors.newVirtualThreadPerTaskExecutor()</code> method, or null if the JVM has no virtual threads
+     */
+    private static final Method VIRTUAL_THREAD_EXECUTOR_FACTORY = findVirtualThreadExecutorFactory();
+
+    /**
+     * The number of platform threads per available processor that run the rows when the JVM has no virtual threads and
+     * the number of rows running at the same time is not limited
+     */
+    public static final int DEFAULT_PLATFORM_THREADS_PER_PROCESSOR = 4;
+
+    /**
+     * An instance of {@link ExecutorService} to run the rows
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * The permits limiting the number of rows running at the same time, or null if there is no limit
+     */
+    private final Semaphore permits;
+
+    /**
+     * Construct a new VirtualThreadScheduler that does not limit the number of rows running at the same time
+     */
+    public VirtualThreadScheduler() {
+        this(0);
+    }
+
+    /**
+     * Construct a new VirtualThreadScheduler
+     *
+     * @param maxConcurrency the maximum number of rows running at the same time. If ZERO or NEGATIVE, there is no
+     *            limit
+     */
+    public VirtualThreadScheduler(int maxConcurrency) {
+        this.executorService = newExecutorService(maxConcurrency);
+        this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    }
+
+    private static Method findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newExecutorService(int maxConcurrency) {
+        int platformThreads = maxConcurrency > 0 ? maxConcurrency : DEFAULT_PLATFORM_THREADS_PER_PROCESSOR
+            * Runtime.getRuntime().availableProcessors();
+        if (VIRTUAL_THREAD_EXECUTOR_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke(null);
+            } catch (Exception e) {
+                LOG.warn("Could not create the virtual thread executor. Falling back to a pool of {} threads.",
+                    platformThreads, e);
+            }
+        } else {
+            LOG.warn("Virtual threads are not supported by this JVM. Falling back to a pool of {} threads.",
+                platformThreads);
+        }
+        return Executors.newFixedThreadPool(platformThreads);
+    }
+
+    /**
+     * @return true if the JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Schedule a Runnable {@link org.junit.runners.model.Statement}. If the maximum number of rows are already
+     * running, this method blocks until one of them completes.
+     *
+     * @param childStatement a runnable implementation
+     */
+    public void schedule(final Runnable childStatement) {
+        if (permits == null) {
+            executorService.submit(childStatement);
+            return;
+        }
+        permits.acquireUninterruptibly();
+        try {
+            executorService.submit(new Runnable() {
+
+                public void run() {
+                    try {
+                        childStatement.run();
+                    } finally {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Method called when all the test methods have been scheduled. This method is used to shutdown and await for
+     * termination of all the rows.
+     */
+    public void finished() {
+        try {
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            LOG.error("Interrupted while waiting for the rows to complete", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the executorService
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+}
@@ -0,0 +1,213 @@
+package org.easetech.easytest.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A temporary file to which the output data of the rows of a single test method is appended as soon as a row
+ * completes. Every record is written at a position reserved atomically, so rows completing at the same time append
+ * their output without locking each other out.
+ * <br>
+ * The values are stored with their type when it is a {@link String}, {@link Double}, {@link Integer}, {@link Long} or
+ * {@link Float}, which are the types the loaders write as such. Any other value is stored as its String
+ * representation, which is what the loaders write for them anyway.
+ *
+ */
+class OutputSpillFile {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte NULL = 0;
+
+    private static final byte STRING = 1;
+
+    private static final byte DOUBLE = 2;
+
+    private static final byte INTEGER = 3;
+
+    private static final byte LONG = 4;
+
+    private static final byte FLOAT = 5;
+
+    /**
+     * The spill file
+     */
+    private final File file;
+
+    /**
+     * The channel used to write and read the records
+     */
+    private final FileChannel channel;
+
+    /**
+     * The number of bytes reserved so far
+     */
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Construct a new OutputSpillFile
+     *
+     * @param directory the directory to create the file in, or null to use the default temporary directory
+     * @param methodName the name of the method whose output is spilled
+     */
+    OutputSpillFile(File directory, String methodName) {
+        try {
+            file = File.createTempFile("easytest-" + methodName + "-", ".spill", directory);
+            file.deleteOnExit();
+            channel = new RandomAccessFile(file, "rw").getChannel();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create the spill file for the output data of the method "
+                + methodName, e);
+        }
+    }
+
+    /**
+     * Append the output data of a row
+     *
+     * @param outputData the output data
+     * @return the position of the record in the file
+     */
+    long write(Map<String, Object> outputData) {
+        ByteBuffer record = encode(outputData);
+        long position = size.getAndAdd(record.remaining());
+        try {
+            long writePosition = position;
+            while (record.hasRemaining()) {
+                writePosition += channel.write(record, writePosition);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write the output data to the spill file " + file, e);
+        }
+        return position;
+    }
+
+    /**
+     * Read the output data of a row
+     *
+     * @param position the position of the record as returned by {@link #write(Map)}
+     * @return the output data
+     */
+    Map<String, Object> read(long position) {
+        try {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            readFully(length, position);
+            ByteBuffer record = ByteBuffer.allocate(length.getInt(0));
+            readFully(record, position + 4);
+            return decode(record);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the output data from the spill file " + file, e);
+        }
+    }
+
+    /**
+     * Close and delete the spill file
+     */
+    void delete() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing more can be done, the file is deleted on exit anyway
+        }
+        file.delete();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of the spill file " + file);
+            }
+        }
+        // called on Buffer, as ByteBuffer only overrides flip() since Java 9
+        ((Buffer) buffer).flip();
+    }
+
+    private static ByteBuffer encode(Map<String, Object> outputData) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(outputData.size());
+            for (Map.Entry<String, Object> entry : outputData.entrySet()) {
+                writeString(out, entry.getKey());
+                Object value = entry.getValue();
+                if (value == null) {
+                    out.writeByte(NULL);
+                } else if (value instanceof Double) {
+                    out.writeByte(DOUBLE);
+                    out.writeDouble((Double) value);
+                } else if (value instanceof Integer) {
+                    out.writeByte(INTEGER);
+                    out.writeInt((Integer) value);
+                } else if (value instanceof Long) {
+                    out.writeByte(LONG);
+                    out.writeLong((Long) value);
+                } else if (value instanceof Float) {
+                    out.writeByte(FLOAT);
+                    out.writeFloat((Float) value);
+                } else {
+                    out.writeByte(STRING);
+                    writeString(out, value.toString());
+                }
+            }
+            out.flush();
+            ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+            record.putInt(0, record.remaining() - 4);
+            return record;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Map<String, Object> decode(ByteBuffer record) {
+        int entries = record.getInt();
+        Map<String, Object> outputData = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < entries; i++) {
+            String key = readString(record);
+            byte type = record.get();
+            switch (type) {
+                case NULL:
+                    outputData.put(key, null);
+                    break;
+                case DOUBLE:
+                    outputData.put(key, record.getDouble());
+                    break;
+                case INTEGER:
+                    outputData.put(key, record.getInt());
+                    break;
+                case LONG:
+                    outputData.put(key, record.getLong());
+                    break;
+                case FLOAT:
+                    outputData.put(key, record.getFloat());
+                    break;
+                default:
+                    outputData.put(key, readString(record));
+            }
+        }
+        return outputData;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+}
@@ -0,0 +1,286 @@
+package org.easetech.easytest.util;
+
+import java.io.File;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A thread safe replacement of the plain {@link Map} holding the data that is written back to the test data files
+ * once all the tests have been run. The map has the same structure as the one filled by the loaders : the name of the
+ * method as the key and the list of data rows as the value. It can therefore be passed wherever the framework expects
+ * the writable data, for eg. to {@link RunAftersWithOutputData}.
+ * <br>
+ * While the input data is loaded, the map is filled as usual. Once the rows start executing, each row records its
+ * output using {@link #addOutput(String, Map, Map)}. Every method has its own stripe of output slots, one slot per
+ * data row, that is written without any locking. The lists returned by this map are views that return the output of
+ * a row if it has been recorded, and the input row otherwise. Thus no output is lost when the rows of a method are run
+ * in parallel, and no row ever writes into a map that another row is reading.
+ * <br>
+ * When constructed with {@link #WritableDataAccumulator(File, boolean)} and spilling enabled, the output of a row is
+ * not kept on the heap. Instead, the output columns of the row are appended to a temporary {@link OutputSpillFile} of
+ * the method as soon as the row completes, and are read back only when the lists are iterated to write the data to the
+ * test data files. The spill files are deleted by {@link #release()}.
+ *
+ */
+public class WritableDataAccumulator extends AbstractMap<String, List<Map<String, Object>>> {
+
+    /**
+     * The rows of every method. The values are always instances of {@link MethodRows}
+     */
+    private final ConcurrentHashMap<String, List<Map<String, Object>>> methodRows = new ConcurrentHashMap<String, List<Map<String, Object>>>();
+
+    /**
+     * Whether the output of the rows is spilled to disk
+     */
+    private final boolean spilling;
+
+    /**
+     * The directory of the spill files, or null for the default temporary directory
+     */
+    private final File spillDirectory;
+
+    /**
+     * Construct a new WritableDataAccumulator that keeps the output of the rows on the heap
+     */
+    public WritableDataAccumulator() {
+        this(null, false);
+    }
+
+    /**
+     * Construct a new WritableDataAccumulator
+     *
+     * @param spillDirectory the directory of the spill files, or null for the default temporary directory
+     * @param spilling whether the output of the rows is spilled to disk as soon as the rows complete
+     */
+    public WritableDataAccumulator(File spillDirectory, boolean spilling) {
+        this.spillDirectory = spillDirectory;
+        this.spilling = spilling;
+    }
+
+    /**
+     * @return true if the output of the rows is spilled to disk
+     */
+    public boolean isSpilling() {
+        return spilling;
+    }
+
+    /**
+     * @return the directory of the spill files, or null for the default temporary directory
+     */
+    public File getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * Delete the spill files, if any. The output spilled so far is no longer available afterwards.
+     */
+    public void release() {
+        for (List<Map<String, Object>> rows : methodRows.values()) {
+            ((MethodRows) rows).release();
+        }
+    }
+
+    /**
+     * Record the output of a data row.
+     *
+     * @param methodName the name of the method the row belongs to
+     * @param inputRow the data row as it was loaded
+     * @param outputRow the data row containing the input data as well as the output data of the method
+     * @return true if the row belongs to the input data of the method and its output is recorded, false otherwise
+     */
+    public boolean addOutput(String methodName, Map<String, Object> inputRow, Map<String, Object> outputRow) {
+        MethodRows rows = (MethodRows) methodRows.get(methodName);
+        return rows != null && rows.addOutput(inputRow, outputRow);
+    }
+
+    /**
+     * Put the input data rows of the given method. This is called by the loaders while the test data is loaded.
+     *
+     * @param methodName the name of the method
+     * @param rows the list of data rows
+     * @return the previous rows of the method, if any
+     */
+    @Override
+    public List<Map<String, Object>> put(String methodName, List<Map<String, Object>> rows) {
+        return methodRows.put(methodName, rows instanceof MethodRows ? rows : new MethodRows(this, methodName, rows));
+    }
+
+    @Override
+    public List<Map<String, Object>> get(Object methodName) {
+        return methodRows.get(methodName);
+    }
+
+    @Override
+    public boolean containsKey(Object methodName) {
+        return methodRows.containsKey(methodName);
+    }
+
+    /**
+     * Remove the rows of the given method, and delete the spill file of their output, if any
+     *
+     * @param methodName the name of the method
+     * @return the removed rows, whose spilled output is no longer available
+     */
+    @Override
+    public List<Map<String, Object>> remove(Object methodName) {
+        List<Map<String, Object>> rows = methodRows.remove(methodName);
+        if (rows != null) {
+            ((MethodRows) rows).release();
+        }
+        return rows;
+    }
+
+    @Override
+    public void clear() {
+        methodRows.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<Map<String, Object>>>> entrySet() {
+        return Collections.unmodifiableMap(methodRows).entrySet();
+    }
+
+    /**
+     * The stripe holding the rows of a single method. The list returns the recorded output of a row if present, else
+     * the input row.
+     */
+    private static class MethodRows extends AbstractList<Map<String, Object>> {
+
+        /**
+         * The accumulator this stripe belongs to
+         */
+        private final WritableDataAccumulator accumulator;
+
+        /**
+         * The name of the method
+         */
+        private final String methodName;
+
+        /**
+         * The input rows as loaded
+         */
+        private final List<Map<String, Object>> inputRows;
+
+        /**
+         * The output slots, created when the first output of the method is recorded
+         */
+        private volatile OutputSlots outputSlots;
+
+        MethodRows(WritableDataAccumulator accumulator, String methodName, List<Map<String, Object>> inputRows) {
+            this.accumulator = accumulator;
+            this.methodName = methodName;
+            this.inputRows = inputRows;
+        }
+
+        boolean addOutput(Map<String, Object> inputRow, Map<String, Object> outputRow) {
+            OutputSlots slots = getOutputSlots();
+            Integer index = slots.rowIndex.get(inputRow);
+            if (index == null) {
+                return false;
+            }
+            if (slots.spillFile == null) {
+                slots.outputRows.set(index, outputRow);
+            } else {
+                Map<String, Object> outputData = new LinkedHashMap<String, Object>();
+                for (Map.Entry<String, Object> entry : outputRow.entrySet()) {
+                    if (!inputRow.containsKey(entry.getKey()) || inputRow.get(entry.getKey()) != entry.getValue()) {
+                        outputData.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                slots.spilledRows.set(index, slots.spillFile.write(outputData) + 1);
+            }
+            return true;
+        }
+
+        void release() {
+            OutputSlots slots = outputSlots;
+            if (slots != null && slots.spillFile != null) {
+                slots.spillFile.delete();
+            }
+        }
+
+        /**
+         * The input rows are complete once the rows start executing, so the slots are created only once per method.
+         */
+        private OutputSlots getOutputSlots() {
+            OutputSlots slots = outputSlots;
+            if (slots == null) {
+                synchronized (this) {
+                    slots = outputSlots;
+                    if (slots == null) {
+                        slots = new OutputSlots(inputRows, accumulator.spilling ? new OutputSpillFile(
+                            accumulator.spillDirectory, methodName) : null);
+                        outputSlots = slots;
+                    }
+                }
+            }
+            return slots;
+        }
+
+        @Override
+        public Map<String, Object> get(int index) {
+            OutputSlots slots = outputSlots;
+            if (slots != null && index < slots.rowCount) {
+                if (slots.spillFile == null) {
+                    Map<String, Object> outputRow = slots.outputRows.get(index);
+                    if (outputRow != null) {
+                        return outputRow;
+                    }
+                } else {
+                    long position = slots.spilledRows.get(index);
+                    if (position > 0) {
+                        Map<String, Object> outputRow = new LinkedHashMap<String, Object>(inputRows.get(index));
+                        outputRow.putAll(slots.spillFile.read(position - 1));
+                        return outputRow;
+                    }
+                }
+            }
+            return inputRows.get(index);
+        }
+
+        @Override
+        public int size() {
+            return inputRows.size();
+        }
+    }
+
+    /**
+     * The index of every input row, by identity, and the output slot of every row. The slot either holds the output
+     * row, or when spilling, the position of the output data in the spill file plus ONE.
+     */
+    private static class OutputSlots {
+
+        private final int rowCount;
+
+        private final Map<Map<String, Object>, Integer> rowIndex;
+
+        private final AtomicReferenceArray<Map<String, Object>> outputRows;
+
+        private final AtomicLongArray spilledRows;
+
+        private final OutputSpillFile spillFile;
+
+        OutputSlots(List<Map<String, Object>> inputRows, OutputSpillFile spillFile) {
+            this.rowCount = inputRows.size();
+            this.spillFile = spillFile;
+            this.rowIndex = new IdentityHashMap<Map<String, Object>, Integer>(inputRows.size());
+            for (int i = 0; i < inputRows.size(); i++) {
+                if (!rowIndex.containsKey(inputRows.get(i))) {
+                    rowIndex.put(inputRows.get(i), i);
+                }
+            }
+            this.outputRows = spillFile == null ? new AtomicReferenceArray<Map<String, Object>>(rowCount) : null;
+            this.spilledRows = spillFile != null ? new AtomicLongArray(rowCount) : null;
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.easetech.easytest.example;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.io.ClasspathResource;
+import org.easetech.easytest.io.EmptyResource;
+import org.easetech.easytest.io.Resource;
+import org.easetech.easytest.loader.CSVDataLoader;
+import org.easetech.easytest.loader.DatasetCache;
+import org.easetech.easytest.loader.ExcelDataLoader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * An example test class showing that a data file is parsed only once when the {@link DatasetCache} is used.
+ * 
+ */
+public class TestDatasetCache {
+
+    @Rule
+    public TemporaryFolder cacheDirectory = new TemporaryFolder();
+
+    @Test
+    public void testCSVDataIsParsedOnce() {
+        assertParsedOnce(new CountingCSVDataLoader(), new ClasspathResource("getItemsData.csv"));
+    }
+
+    @Test
+    public void testExcelDataIsParsedOnce() {
+        assertParsedOnce(new CountingExcelDataLoader(), new ClasspathResource("org/easetech/data/testExcelData.xls"));
+    }
+
+    @Test
+    public void testResourcesThatAreNotFilesAreNotCached() {
+        CustomObjectDataLoader loader = new CustomObjectDataLoader();
+        DatasetCache cache = new DatasetCache(cacheDirectory.getRoot());
+        Assert.assertNotNull(cache.loadData(loader, new EmptyResource()));
+        Assert.assertEquals(0, cacheDirectory.getRoot().list().length);
+    }
+
+    private void assertParsedOnce(Counting loader, Resource resource) {
+        File directory = new File(cacheDirectory.getRoot(), "datasets");
+        Map<String, List<Map<String, Object>>> parsed = new DatasetCache(directory).loadData(loader, resource);
+        Map<String, List<Map<String, Object>>> cached = new DatasetCache(directory).loadData(loader, resource);
+        Assert.assertEquals(1, loader.parsed());
+        Assert.assertEquals(1, directory.list().length);
+        Assert.assertFalse(parsed.isEmpty());
+        Assert.assertEquals(parsed, cached);
+    }
+
+    private interface Counting extends org.easetech.easytest.loader.Loader {
+        int parsed();
+    }
+
+    private static class CountingCSVDataLoader extends CSVDataLoader implements Counting {
+
+        private final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+            parsed.incrementAndGet();
+            return super.loadData(resource);
+        }
+
+        public int parsed() {
+            return parsed.get();
+        }
+    }
+
+    private static class CountingExcelDataLoader extends ExcelDataLoader implements Counting {
+
+        private final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+            parsed.incrementAndGet();
+            return super.loadData(resource);
+        }
+
+        public int parsed() {
+            return parsed.get();
+        }
+    }
+
+}
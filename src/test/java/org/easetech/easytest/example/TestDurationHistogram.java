@@ -0,0 +1,98 @@
+package org.easetech.easytest.example;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import org.easetech.easytest.internal.SystemProperties;
+import org.easetech.easytest.interceptor.DefaultMethodIntercepter;
+import org.easetech.easytest.interceptor.RecordingInvocationhandler;
+import org.easetech.easytest.reports.data.DurationHistogram;
+import org.easetech.easytest.reports.data.HistogramDurationObserver;
+import org.easetech.easytest.reports.impl.DurationPercentileReport;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * An example test class showing how the durations of the intercepted methods are recorded in a
+ * {@link DurationHistogram} and reported as percentiles.
+ *
+ */
+public class TestDurationHistogram {
+
+    @Test
+    public void testPercentiles() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (long duration = 1; duration <= 100000; duration++) {
+            histogram.record(duration * 1000);
+        }
+        Assert.assertEquals(100000, histogram.getCount());
+        Assert.assertEquals(1000, histogram.getMin());
+        Assert.assertEquals(100000000, histogram.getMax());
+        Assert.assertEquals(50000500, histogram.getMean(), 1);
+        assertWithinOnePercent(50000000, histogram.getP50());
+        assertWithinOnePercent(90000000, histogram.getP90());
+        assertWithinOnePercent(99000000, histogram.getP99());
+        Assert.assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSmallAndExtremeDurations() {
+        DurationHistogram histogram = new DurationHistogram();
+        Assert.assertEquals(0, histogram.getP99());
+        histogram.record(-5);
+        histogram.record(7);
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(0, histogram.getMin());
+        Assert.assertEquals(7, histogram.getP50());
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getP99());
+    }
+
+    @Test
+    public void testInterceptedCallsAreReported() throws IOException {
+        HistogramDurationObserver durationObserver = new HistogramDurationObserver();
+        RecordingInvocationhandler handler = new RecordingInvocationhandler(durationObserver);
+        handler.setUserIntercepter(new DefaultMethodIntercepter());
+        handler.setTargetInstance(new RealItemService());
+        ItemService itemService = (ItemService) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] { ItemService.class }, handler);
+        for (int i = 0; i < 1000; i++) {
+            itemService.getItems(new LibraryId(Long.valueOf(1)), "text", "BOOK");
+        }
+        DurationHistogram histogram = durationObserver.getHistograms().get(
+            RealItemService.class.getName() + ".getItems");
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertTrue(histogram.getP50() <= histogram.getP99());
+        Assert.assertTrue(durationObserver.getDurationList().isEmpty());
+
+        File reportFolder = new File(System.getProperty("java.io.tmpdir"), "easytest-percentiles-"
+            + System.nanoTime());
+        try {
+            System.setProperty(SystemProperties.GENERATE_REPORT.getValue(), "true");
+            System.setProperty(SystemProperties.REPORT_LOCATION.getValue(), "file:" + reportFolder.getPath());
+            new DurationPercentileReport(TestDurationHistogram.class, durationObserver).report();
+        } finally {
+            System.clearProperty(SystemProperties.GENERATE_REPORT.getValue());
+            System.clearProperty(SystemProperties.REPORT_LOCATION.getValue());
+        }
+        File[] reports = reportFolder.listFiles();
+        Assert.assertNotNull(reports);
+        Assert.assertEquals(1, reports.length);
+        BufferedReader reader = new BufferedReader(new FileReader(reports[0]));
+        try {
+            Assert.assertTrue(reader.readLine().startsWith("Method,Calls"));
+            Assert.assertTrue(reader.readLine().startsWith(RealItemService.class.getName() + ".getItems,1000,"));
+        } finally {
+            reader.close();
+            reports[0].delete();
+            reportFolder.delete();
+        }
+    }
+
+    private static void assertWithinOnePercent(long expected, long actual) {
+        Assert.assertTrue("Expected about " + expected + " but was " + actual, actual >= expected
+            && actual <= expected * 1.01);
+    }
+
+}
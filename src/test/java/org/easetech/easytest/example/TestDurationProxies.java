@@ -0,0 +1,70 @@
+package org.easetech.easytest.example;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.sf.cglib.proxy.Factory;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Duration;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose {@link Duration} fields are replaced by a new proxy for every row, a JDK dynamic proxy
+ * for the field of an interface type and a CGLIB proxy for the field of a class type. The proxy classes are only
+ * generated for the first row, and every row after that reuses them.
+ *
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:durationProxiesData.csv" })
+public class TestDurationProxies {
+
+    private static final List<Object> interfaceProxies = new ArrayList<Object>();
+
+    private static final List<Object> classProxies = new ArrayList<Object>();
+
+    @Duration(timeInMillis = 10000)
+    private ItemService itemService = new RealItemService();
+
+    @Duration(timeInMillis = 10000)
+    private RealItemService realItemService = new RealItemService();
+
+    @Test
+    public void testProxiesAreReused(@Param(name = "rowId") Long rowId) {
+        Assert.assertTrue(Proxy.isProxyClass(itemService.getClass()));
+        Assert.assertTrue(realItemService instanceof Factory);
+        Assert.assertEquals("BOOK", itemService.findItem(null, new ItemId(rowId)).getItemType());
+        Assert.assertEquals("BOOK", realItemService.findItem(null, new ItemId(rowId)).getItemType());
+        interfaceProxies.add(itemService);
+        classProxies.add(realItemService);
+    }
+
+    @AfterClass
+    public static void everyRowReusedTheProxyClasses() {
+        Assert.assertEquals(5, interfaceProxies.size());
+        Assert.assertEquals(5, classProxies.size());
+        Set<Class<?>> interfaceProxyClasses = new HashSet<Class<?>>();
+        Set<Class<?>> classProxyClasses = new HashSet<Class<?>>();
+        for (int row = 0; row < 5; row++) {
+            interfaceProxyClasses.add(interfaceProxies.get(row).getClass());
+            classProxyClasses.add(classProxies.get(row).getClass());
+            if (row > 0) {
+                // every row gets new proxies of the same classes
+                Assert.assertNotSame(interfaceProxies.get(row - 1), interfaceProxies.get(row));
+                Assert.assertNotSame(classProxies.get(row - 1), classProxies.get(row));
+            }
+        }
+        Assert.assertEquals(1, interfaceProxyClasses.size());
+        Assert.assertEquals(1, classProxyClasses.size());
+        Assert.assertEquals(RealItemService.class, classProxyClasses.iterator().next().getSuperclass());
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.easetech.easytest.example;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.ForkJoinParallel;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose data rows are run in parallel on a work stealing fork join pool.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:parallelRowsData.csv" })
+@ForkJoinParallel(parallelism = 4, granularity = 2)
+public class TestForkJoinParallelRows {
+
+    private static final Set<Integer> executedRows = Collections.synchronizedSet(new HashSet<Integer>());
+
+    private static final Set<String> workerThreads = Collections.synchronizedSet(new HashSet<String>());
+
+    @Test
+    public void testForkJoinRow(@Param(name = "rowId") Integer rowId, @Param(name = "itemType") String itemType)
+        throws InterruptedException {
+        System.out.println(Thread.currentThread().getName() + " executing row " + rowId + " of type " + itemType);
+        workerThreads.add(Thread.currentThread().getName());
+        // give the other workers the time to steal the remaining rows
+        Thread.sleep(20);
+        Assert.assertTrue("Row " + rowId + " executed twice", executedRows.add(rowId));
+    }
+
+    @AfterClass
+    public static void allRowsExecuted() {
+        Assert.assertEquals(20, executedRows.size());
+        Assert.assertTrue("The rows were run by a single thread " + workerThreads, workerThreads.size() > 1);
+        for (String workerThread : workerThreads) {
+            Assert.assertTrue(workerThread + " is not a fork join worker", workerThread.contains("ForkJoinPool"));
+        }
+    }
+
+}
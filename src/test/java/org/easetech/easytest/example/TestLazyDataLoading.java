@@ -0,0 +1,54 @@
+package org.easetech.easytest.example;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.LazyDataLoading;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.loader.DataConverter;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.easetech.easytest.util.DataContext;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose test data is loaded one test method at a time, right before the method runs.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:lazyLoadedData.csv" })
+@LazyDataLoading
+public class TestLazyDataLoading {
+
+    private static final AtomicInteger firstMethodRows = new AtomicInteger();
+
+    private static final AtomicInteger secondMethodRows = new AtomicInteger();
+
+    @Test
+    public String testFirstLazyMethod(@Param(name = "rowId") Integer rowId) {
+        assertNotLoaded("testSecondLazyMethod");
+        firstMethodRows.incrementAndGet();
+        return "first" + rowId;
+    }
+
+    @Test
+    public void testSecondLazyMethod(@Param(name = "rowId") Integer rowId) {
+        assertNotLoaded("testFirstLazyMethod");
+        secondMethodRows.incrementAndGet();
+    }
+
+    private void assertNotLoaded(String methodName) {
+        Assert.assertFalse(DataContext.getData().containsKey(
+            DataConverter.getFullyQualifiedTestName(methodName, TestLazyDataLoading.class)));
+    }
+
+    @AfterClass
+    public static void verifyRows() {
+        Assert.assertEquals(3, firstMethodRows.get());
+        Assert.assertEquals(2, secondMethodRows.get());
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.easetech.easytest.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.LazyDataLoading;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.io.Resource;
+import org.easetech.easytest.loader.LoaderType;
+import org.easetech.easytest.loader.MappedCSVDataLoader;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose test data is loaded one test method at a time by a loader that reads the rows of a
+ * single method, so that the rows of the other methods are never built.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:lazyMethodRowsData.csv" }, loaderType = LoaderType.CUSTOM, loader = TestLazyMethodRows.CountingMappedCSVDataLoader.class, writeData = false)
+@LazyDataLoading
+public class TestLazyMethodRows {
+
+    private static final AtomicInteger executedRows = new AtomicInteger();
+
+    @Test
+    public void testFirstMethodRows(@Param(name = "rowId") Integer rowId) {
+        Assert.assertTrue(rowId.intValue() <= 3);
+        executedRows.incrementAndGet();
+    }
+
+    @Test
+    public void testSecondMethodRows(@Param(name = "rowId") Integer rowId) {
+        Assert.assertTrue(rowId.intValue() > 3);
+        executedRows.incrementAndGet();
+    }
+
+    @AfterClass
+    public static void verifyRows() {
+        Assert.assertEquals(5, executedRows.get());
+        Assert.assertEquals("The whole file is never parsed", 0, CountingMappedCSVDataLoader.parsedFiles.get());
+        List<String> loadedMethods = new ArrayList<String>(CountingMappedCSVDataLoader.loadedMethods);
+        Collections.sort(loadedMethods);
+        Assert.assertEquals("[testFirstMethodRows, testSecondMethodRows]", loadedMethods.toString());
+    }
+
+    /**
+     * A {@link MappedCSVDataLoader} recording how the data is loaded
+     */
+    public static class CountingMappedCSVDataLoader extends MappedCSVDataLoader {
+
+        static final AtomicInteger parsedFiles = new AtomicInteger();
+
+        static final List<String> loadedMethods = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+            parsedFiles.incrementAndGet();
+            return super.loadData(resource);
+        }
+
+        @Override
+        public List<Map<String, Object>> loadMethodData(Resource resource, String methodName) {
+            loadedMethods.add(methodName);
+            return super.loadMethodData(resource, methodName);
+        }
+    }
+
+}
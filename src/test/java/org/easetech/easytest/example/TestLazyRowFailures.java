@@ -0,0 +1,62 @@
+package org.easetech.easytest.example;
+
+import java.util.List;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.LazyDataLoading;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing that the rows of a test method whose data is loaded lazily are reported against the
+ * {@link Description} of the test method.
+ *
+ */
+public class TestLazyRowFailures {
+
+    @Test
+    public void testRowFailureReportedAgainstMethod() {
+        Request request = Request.aClass(FailingRows.class);
+        List<Description> methods = request.getRunner().getDescription().getChildren();
+        Assert.assertEquals(2, methods.size());
+        for (Description method : methods) {
+            Assert.assertTrue(method.isTest());
+        }
+        Result result = new JUnitCore().run(request);
+        Assert.assertEquals(2, result.getRunCount());
+        Assert.assertEquals(1, result.getFailureCount());
+        Failure failure = result.getFailures().get(0);
+        Assert.assertTrue(methods.contains(failure.getDescription()));
+        Assert.assertEquals("testFirstMethodRows", failure.getDescription().getMethodName());
+        Assert.assertEquals("row 2", failure.getMessage());
+    }
+
+    /**
+     * The test class whose second row fails
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:lazyMethodRowsData.csv" }, writeData = false)
+    @LazyDataLoading
+    public static class FailingRows {
+
+        @Test
+        public void testFirstMethodRows(@Param(name = "rowId") Integer rowId) {
+            Assert.assertFalse("row 2", rowId.intValue() == 2);
+        }
+
+        @Test
+        public void testSecondMethodRows(@Param(name = "rowId") Integer rowId) {
+            Assert.assertTrue(rowId.intValue() > 3);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.easetech.easytest.example;
+
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.io.ClasspathResource;
+import org.easetech.easytest.loader.CSVDataLoader;
+import org.easetech.easytest.loader.LoaderType;
+import org.easetech.easytest.loader.MappedCSVDataLoader;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose test data is read from a memory mapped CSV file.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:mappedCsvData.csv" }, loaderType = LoaderType.CUSTOM, loader = MappedCSVDataLoader.class, writeData = false)
+public class TestMappedCSVDataLoader {
+
+    @Test
+    public void testGetItemsFromMappedFile(@Param(name = "libraryId") Long libraryId,
+        @Param(name = "itemType") String itemType, @Param(name = "searchText") String searchText) {
+        Assert.assertNotNull(libraryId);
+        Assert.assertNotNull(itemType);
+        Assert.assertTrue(searchText.length() > 0);
+    }
+
+    @Test
+    public void testGetItemIdsFromMappedFile(@Param(name = "itemIds") List<Long> itemIds) {
+        Assert.assertEquals(4, itemIds.size());
+    }
+
+    @Test
+    public void testSameDataAsCSVDataLoader() {
+        ClasspathResource resource = new ClasspathResource("mappedCsvData.csv");
+        Assert.assertEquals(new CSVDataLoader().loadData(resource), new MappedCSVDataLoader().loadData(resource));
+    }
+
+    @Test
+    public void testMethodRowsOnly() {
+        ClasspathResource resource = new ClasspathResource("mappedCsvData.csv");
+        MappedCSVDataLoader loader = new MappedCSVDataLoader();
+        Map<String, List<Map<String, Object>>> data = loader.loadData(resource);
+        for (String methodName : data.keySet()) {
+            Assert.assertEquals(data.get(methodName), loader.loadMethodData(resource, methodName));
+        }
+        Assert.assertNull(loader.loadMethodData(resource, "testUnknownMethod"));
+    }
+}
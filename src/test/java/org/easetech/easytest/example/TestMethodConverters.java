@@ -0,0 +1,81 @@
+package org.easetech.easytest.example;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.Converters;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.ForkJoinParallel;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.converter.AbstractConverter;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose test methods convert the same type with different converters. A converter registered
+ * using the {@link Converters} annotation on a test method replaces the converter of the test class for that method
+ * only, while the rows of all the methods run in parallel.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:methodConvertersData.csv" })
+@Converters({ ItemConverter.class })
+@ForkJoinParallel(parallelism = 4)
+public class TestMethodConverters {
+
+    private static final AtomicInteger convertedRows = new AtomicInteger();
+
+    @Test
+    public void testClassConverter(@Param(name = "item") Item item) {
+        Assert.assertEquals("book", item.getItemType());
+        convertedRows.incrementAndGet();
+    }
+
+    @Test
+    @Converters({ LibraryItemConverter.class })
+    public void testLibraryConverter(@Param(name = "item") Item item) {
+        Assert.assertEquals("library", item.getItemType());
+        convertedRows.incrementAndGet();
+    }
+
+    @Test
+    @Converters({ ArchivedItemConverter.class })
+    public void testArchiveConverter(@Param(name = "item") Item item) {
+        Assert.assertEquals("archive", item.getItemType());
+        convertedRows.incrementAndGet();
+    }
+
+    @AfterClass
+    public static void allRowsConverted() {
+        Assert.assertEquals(15, convertedRows.get());
+    }
+
+    /**
+     * Converts the rows to items of the library
+     */
+    public static class LibraryItemConverter extends AbstractConverter<Item> {
+
+        public Item convert(Map<String, Object> convertFrom) {
+            Item item = new ItemConverter().convert(convertFrom);
+            item.setItemType("library");
+            return item;
+        }
+    }
+
+    /**
+     * Converts the rows to archived items
+     */
+    public static class ArchivedItemConverter extends AbstractConverter<Item> {
+
+        public Item convert(Map<String, Object> convertFrom) {
+            Item item = new ItemConverter().convert(convertFrom);
+            item.setItemType("archive");
+            return item;
+        }
+    }
+
+}
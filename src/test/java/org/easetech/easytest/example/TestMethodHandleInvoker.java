@@ -0,0 +1,81 @@
+package org.easetech.easytest.example;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import org.easetech.easytest.interceptor.DefaultMethodIntercepter;
+import org.easetech.easytest.interceptor.RecordingInvocationhandler;
+import org.easetech.easytest.reports.data.HistogramDurationObserver;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * An example test class showing that the methods intercepted by a {@link RecordingInvocationhandler} are called through
+ * a method handle the same way the {@link DefaultMethodIntercepter} calls them.
+ *
+ */
+public class TestMethodHandleInvoker {
+
+    @Test
+    public void testResultsAndArguments() {
+        HistogramDurationObserver durationObserver = new HistogramDurationObserver();
+        ItemService itemService = proxy(ItemService.class, new RealItemService(), durationObserver);
+        Item item = itemService.findItem(new LibraryId(Long.valueOf(1)), new ItemId(Long.valueOf(2)));
+        Assert.assertEquals("BOOK", item.getItemType());
+        List<Item> items = itemService.getItems(null, null, null);
+        Assert.assertTrue(items.isEmpty());
+        Assert.assertEquals(2, durationObserver.getHistograms().size());
+    }
+
+    @Test
+    public void testPrimitivesVoidAndPackagePrivateInterface() {
+        Counter counter = proxy(Counter.class, new SimpleCounter(), new HistogramDurationObserver());
+        counter.add(40);
+        counter.add(2);
+        Assert.assertEquals(42, counter.get());
+    }
+
+    @Test
+    public void testExceptionsAreWrappedAsWithReflection() {
+        Counter counter = proxy(Counter.class, new SimpleCounter(), new HistogramDurationObserver());
+        try {
+            counter.add(-1);
+            Assert.fail("Expected an exception");
+        } catch (UndeclaredThrowableException e) {
+            Assert.assertTrue(e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause().getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, HistogramDurationObserver durationObserver) {
+        RecordingInvocationhandler handler = new RecordingInvocationhandler(durationObserver);
+        handler.setUserIntercepter(new DefaultMethodIntercepter());
+        handler.setTargetInstance(target);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    interface Counter {
+
+        void add(int value);
+
+        long get();
+    }
+
+    static class SimpleCounter implements Counter {
+
+        private long count;
+
+        public void add(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value " + value);
+            }
+            count += value;
+        }
+
+        public long get() {
+            return count;
+        }
+    }
+
+}
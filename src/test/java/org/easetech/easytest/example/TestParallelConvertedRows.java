@@ -0,0 +1,41 @@
+package org.easetech.easytest.example;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.Converters;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.ForkJoinParallel;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose rows, run in parallel, get their parameters from a converter registered using the
+ * {@link Converters} annotation.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:parallelConvertedData.csv" })
+@Converters({ ItemConverter.class })
+@ForkJoinParallel(parallelism = 4)
+public class TestParallelConvertedRows {
+
+    private static final AtomicInteger convertedRows = new AtomicInteger();
+
+    @Test
+    public void testConvertedRow(@Param(name = "item") Item item) {
+        Assert.assertNotNull(item);
+        Assert.assertEquals("description" + item.getItemId(), item.getDescription());
+        convertedRows.incrementAndGet();
+    }
+
+    @AfterClass
+    public static void allRowsConverted() {
+        Assert.assertEquals(20, convertedRows.get());
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.easetech.easytest.example;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.ForkJoinParallel;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.annotation.Repeat;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose repeated data rows return values while running in parallel. The returned values are
+ * written back to the data file once all the rows have run, and every row finds its own value in the file.
+ * 
+ */
+public class TestParallelRowOutput {
+
+    @Test
+    public void testEveryRowOutputIsWrittenBack() throws Exception {
+        ParallelRows.executedRows.set(0);
+        ParallelRows.applicationContexts.clear();
+        Result result = new JUnitCore().run(ParallelRows.class);
+        Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        Assert.assertEquals(100, ParallelRows.executedRows.get());
+        Assert.assertEquals(1, ParallelRows.applicationContexts.size());
+
+        File dataFile = new File(TestParallelRowOutput.class.getResource("/parallelOutputData.csv").toURI());
+        BufferedReader reader = new BufferedReader(new FileReader(dataFile));
+        try {
+            String[] header = reader.readLine().split(",");
+            Map<String, Integer> columns = new HashMap<String, Integer>();
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i], Integer.valueOf(i));
+            }
+            Assert.assertTrue(columns.containsKey("ActualResult"));
+            Set<String> rowIds = new HashSet<String>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split(",");
+                String rowId = values[columns.get("rowId")];
+                String expected = values[columns.get("itemType")] + "-" + rowId;
+                Assert.assertEquals("Output of the row " + rowId, expected, values[columns.get("ActualResult")]);
+                rowIds.add(rowId);
+            }
+            Assert.assertEquals(20, rowIds.size());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * The test class whose rows run in parallel and return values
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:parallelOutputData.csv" })
+    @ForkJoinParallel(parallelism = 4)
+    public static class ParallelRows {
+
+        static final AtomicInteger executedRows = new AtomicInteger();
+
+        static final Set<ApplicationContext> applicationContexts = Collections
+            .synchronizedSet(new HashSet<ApplicationContext>());
+
+        @Autowired
+        private ApplicationContext applicationContext;
+
+        @Test
+        @Repeat(times = 5)
+        public String testParallelOutput(@Param(name = "rowId") Integer rowId,
+            @Param(name = "itemType") String itemType) {
+            Assert.assertNotNull("The test instance of the row was not injected", applicationContext);
+            applicationContexts.add(applicationContext);
+            executedRows.incrementAndGet();
+            return itemType + "-" + rowId;
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.easetech.easytest.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.loader.RowSelection;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing how the {@link RowSelection} runs only some of the rows of the test data.
+ * 
+ */
+public class TestRowSelection {
+
+    @Test
+    public void testSelectByIndexRange() {
+        RowSelection selection = new RowSelection("testSelectedRows:1-2,4");
+        Assert.assertEquals("[1, 2, 4]", rowIds(selection.select("testSelectedRows", rows(6))));
+        Assert.assertFalse(selection.appliesTo("testOtherRows"));
+    }
+
+    @Test
+    public void testSelectByColumnAndHash() {
+        List<Map<String, Object>> rows = rows(6);
+        String hash = RowSelection.hashOf(rows.get(5));
+        RowSelection selection = new RowSelection("rowId=0;#" + hash.substring(0, 10).toUpperCase());
+        Assert.assertTrue(selection.appliesTo("testOtherRows"));
+        Assert.assertEquals("[0, 5]", rowIds(selection.select("testSelectedRows", rows)));
+    }
+
+    @Test
+    public void testHashDoesNotDependOnColumnOrder() {
+        Map<String, Object> row = new LinkedHashMap<String, Object>();
+        row.put("rowId", "1");
+        row.put("itemType", "book");
+        Map<String, Object> reversedRow = new LinkedHashMap<String, Object>();
+        reversedRow.put("itemType", "book");
+        reversedRow.put("rowId", "1");
+        Assert.assertEquals(RowSelection.hashOf(row), RowSelection.hashOf(reversedRow));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSelector() {
+        new RowSelection("testSelectedRows:first");
+    }
+
+    @Test
+    public void testRunnerCreatesOnlySelectedRows() throws Exception {
+        System.setProperty(SpringSystemProperties.ROW_SELECTION.getValue(), "testSelectedRows:1-2,itemType=journal");
+        try {
+            SelectedRows.rowIds.clear();
+            Result result = new JUnitCore().run(SelectedRows.class);
+            Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+            // a test method whose data is loaded lazily is reported as a single test
+            boolean lazy = Boolean.getBoolean(SpringSystemProperties.LAZY_DATA_LOADING.getValue());
+            Assert.assertEquals(lazy ? 2 : 5, result.getRunCount());
+            Assert.assertEquals("[1, 2, 4, 6, 7]", SelectedRows.rowIds.toString());
+        } finally {
+            System.clearProperty(SpringSystemProperties.ROW_SELECTION.getValue());
+        }
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new HashMap<String, Object>();
+            row.put("rowId", String.valueOf(i));
+            row.put("itemType", "book");
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static String rowIds(List<Map<String, Object>> rows) {
+        List<Object> rowIds = new ArrayList<Object>();
+        for (Map<String, Object> row : rows) {
+            rowIds.add(row.get("rowId"));
+        }
+        return rowIds.toString();
+    }
+
+    /**
+     * The test class run with the row selection
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:rowSelectionData.csv" })
+    public static class SelectedRows {
+
+        static final Set<Integer> rowIds = new TreeSet<Integer>();
+
+        @Test
+        public void testSelectedRows(@Param(name = "rowId") Integer rowId) {
+            synchronized (rowIds) {
+                rowIds.add(rowId);
+            }
+        }
+
+        @Test
+        public void testOtherRows(@Param(name = "rowId") Integer rowId) {
+            synchronized (rowIds) {
+                rowIds.add(rowId);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.easetech.easytest.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.loader.RowShard;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing how the {@link RowShard} partitions the rows of the test data over several JVMs.
+ * 
+ */
+public class TestRowShard {
+
+    @Test
+    public void testShardsPartitionTheRows() {
+        List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> row = new HashMap<String, Object>();
+            row.put("rowId", String.valueOf(i));
+            rows.add(row);
+        }
+        Set<Map<String, Object>> shardedRows = new HashSet<Map<String, Object>>();
+        for (int shardIndex = 1; shardIndex <= 4; shardIndex++) {
+            List<Map<String, Object>> shardRows = new RowShard(shardIndex, 4).select("testShardedRows", rows);
+            Assert.assertEquals(shardRows, new RowShard(shardIndex, 4).select("testShardedRows", rows));
+            Assert.assertTrue("Unbalanced shard of " + shardRows.size() + " rows", shardRows.size() > 150);
+            for (Map<String, Object> row : shardRows) {
+                Assert.assertTrue("Row in several shards : " + row, shardedRows.add(row));
+            }
+        }
+        Assert.assertEquals(rows.size(), shardedRows.size());
+    }
+
+    @Test
+    public void testMethodWithoutDataRunsInASingleShard() {
+        int owners = 0;
+        for (int shardIndex = 1; shardIndex <= 3; shardIndex++) {
+            if (new RowShard(shardIndex, 3).owns("testWithoutData")) {
+                owners++;
+            }
+        }
+        Assert.assertEquals(1, owners);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidShard() {
+        new RowShard(0, 3);
+    }
+
+    @Test
+    public void testRunnerRunsEveryRowInExactlyOneShard() {
+        ShardedRows.rowIds.clear();
+        int runCount = 0;
+        try {
+            System.setProperty(SpringSystemProperties.SHARD_COUNT.getValue(), "3");
+            for (int shardIndex = 1; shardIndex <= 3; shardIndex++) {
+                System.setProperty(SpringSystemProperties.SHARD_INDEX.getValue(), String.valueOf(shardIndex));
+                Result result = new JUnitCore().run(ShardedRows.class);
+                Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+                runCount += result.getRunCount();
+            }
+        } finally {
+            System.clearProperty(SpringSystemProperties.SHARD_INDEX.getValue());
+            System.clearProperty(SpringSystemProperties.SHARD_COUNT.getValue());
+        }
+        // a test method whose data is loaded lazily is reported as a single test in each shard
+        boolean lazy = Boolean.getBoolean(SpringSystemProperties.LAZY_DATA_LOADING.getValue());
+        Assert.assertEquals(lazy ? 3 : 12, runCount);
+        Assert.assertEquals(12, ShardedRows.rowIds.size());
+    }
+
+    /**
+     * The test class run with the rows sharded
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:shardedRowsData.csv" })
+    public static class ShardedRows {
+
+        static final Set<Integer> rowIds = new HashSet<Integer>();
+
+        @Test
+        public void testShardedRows(@Param(name = "rowId") Integer rowId) {
+            synchronized (rowIds) {
+                Assert.assertTrue(rowIds.add(rowId));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.easetech.easytest.example;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.loader.Loader;
+import org.easetech.easytest.runner.RowWorkerPool;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing how the rows of a test class are handed out to the worker JVMs of the
+ * {@link RowWorkerPool}, and how their output is written back by the JVM running the test class.
+ * 
+ */
+public class TestRowWorkers {
+
+    @Test
+    public void testRowsRunInWorkerJvms() throws Exception {
+        // the rows of the test classes whose data is loaded lazily are run by this JVM
+        Assume.assumeTrue(!Boolean.getBoolean(SpringSystemProperties.LAZY_DATA_LOADING.getValue()));
+        System.setProperty(SpringSystemProperties.ROW_WORKERS.getValue(), "2");
+        try {
+            Result result = new JUnitCore().run(RemoteRows.class);
+            Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+            Assert.assertEquals(6, result.getRunCount());
+        } finally {
+            RowWorkerPool pool = RowWorkerPool.getInstance();
+            if (pool != null) {
+                pool.shutdown();
+            }
+            System.clearProperty(SpringSystemProperties.ROW_WORKERS.getValue());
+        }
+        File dataFile = new File(getClass().getResource("/rowWorkerData.csv").toURI());
+        BufferedReader reader = new BufferedReader(new FileReader(dataFile));
+        try {
+            List<String> keys = Arrays.asList(reader.readLine().split(","));
+            int actualResult = keys.indexOf(Loader.ACTUAL_RESULT);
+            Assert.assertTrue(keys.toString(), actualResult > 0);
+            int rows = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String jvmName = line.split(",")[actualResult];
+                Assert.assertNotEquals(ManagementFactory.getRuntimeMXBean().getName(), jvmName);
+                rows++;
+            }
+            Assert.assertEquals(6, rows);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * The test class whose rows are run by the workers
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:rowWorkerData.csv" })
+    public static class RemoteRows {
+
+        @Test
+        public String testRemoteRows(@Param(name = "rowId") Integer rowId) {
+            return ManagementFactory.getRuntimeMXBean().getName();
+        }
+    }
+
+}
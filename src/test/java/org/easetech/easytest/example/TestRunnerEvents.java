@@ -0,0 +1,122 @@
+package org.easetech.easytest.example;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.runner.RunnerEvents;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing the {@link RunnerEvents} a {@link SpringTestRunner} records while a Flight Recorder
+ * recording is running, even one started after the runner was created. The recording is started through reflection,
+ * as the Flight Recorder is not part of every JVM.
+ *
+ */
+public class TestRunnerEvents {
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        Assume.assumeTrue(RunnerEvents.isAvailable());
+        boolean[] rowsSeen = new boolean[3];
+        Map<String, Integer> eventCounts = record(Request.aClass(RecordedRows.class), rowsSeen);
+        Assert.assertEquals(Integer.valueOf(3), eventCounts.get("org.easetech.easytest.RowInvocation"));
+        Assert.assertEquals(Integer.valueOf(3), eventCounts.get("org.easetech.easytest.ContextPreparation"));
+        Assert.assertEquals(Integer.valueOf(1), eventCounts.get("org.easetech.easytest.OutputWriting"));
+        Assert.assertNotNull(eventCounts.get("org.easetech.easytest.DataLoading"));
+        Assert.assertNotNull(eventCounts.get("org.easetech.easytest.Instrumentation"));
+        Assert.assertTrue(rowsSeen[0] && rowsSeen[1] && rowsSeen[2]);
+    }
+
+    @Test
+    public void testRecordingStartedAfterTheRunnerIsCreated() throws Exception {
+        Assume.assumeTrue(RunnerEvents.isAvailable());
+        // the runner is created, and the data of its rows loaded, before the recording starts
+        Runner runner = Request.aClass(RecordedRows.class).getRunner();
+        boolean[] rowsSeen = new boolean[3];
+        Map<String, Integer> eventCounts = record(Request.runner(runner), rowsSeen);
+        Assert.assertEquals(Integer.valueOf(3), eventCounts.get("org.easetech.easytest.RowInvocation"));
+        Assert.assertEquals(Integer.valueOf(3), eventCounts.get("org.easetech.easytest.ContextPreparation"));
+        Assert.assertTrue(rowsSeen[0] && rowsSeen[1] && rowsSeen[2]);
+    }
+
+    /**
+     * Run the request while a recording of the events of the runner is running
+     *
+     * @param request the request running {@link RecordedRows}
+     * @param rowsSeen filled with whether the row of every index was recorded
+     * @return the number of events recorded for {@link RecordedRows}, keyed by the name of the event
+     */
+    private static Map<String, Integer> record(Request request, boolean[] rowsSeen) throws Exception {
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.newInstance();
+        for (String event : new String[] { "DataLoading", "ContextPreparation", "Instrumentation", "RowInvocation",
+            "OutputWriting" }) {
+            recordingClass.getMethod("enable", String.class).invoke(recording, "org.easetech.easytest." + event);
+        }
+        File recordingFile = File.createTempFile("easytest-events", ".jfr");
+        try {
+            recordingClass.getMethod("start").invoke(recording);
+            Result result;
+            try {
+                result = new JUnitCore().run(request);
+            } finally {
+                recordingClass.getMethod("stop").invoke(recording);
+            }
+            Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+            recordingClass.getMethod("dump", Path.class).invoke(recording, recordingFile.toPath());
+
+            Map<String, Integer> eventCounts = new HashMap<String, Integer>();
+            List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class).invoke(null, recordingFile.toPath());
+            for (Object event : events) {
+                if (!RecordedRows.class.getName().equals(get(event, "getString", "testClass"))) {
+                    continue;
+                }
+                Object eventType = event.getClass().getMethod("getEventType").invoke(event);
+                String name = (String) eventType.getClass().getMethod("getName").invoke(eventType);
+                Integer count = eventCounts.get(name);
+                eventCounts.put(name, count == null ? 1 : count + 1);
+                if (name.endsWith("RowInvocation")) {
+                    Assert.assertEquals("testRecordedRows", get(event, "getString", "testMethod"));
+                    rowsSeen[(Integer) get(event, "getInt", "rowIndex")] = true;
+                }
+            }
+            return eventCounts;
+        } finally {
+            recordingClass.getMethod("close").invoke(recording);
+            recordingFile.delete();
+        }
+    }
+
+    private static Object get(Object event, String getter, String field) throws Exception {
+        return event.getClass().getMethod(getter, String.class).invoke(event, field);
+    }
+
+    /**
+     * The test class whose runner records the events
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:runnerEventsData.csv" })
+    public static class RecordedRows {
+
+        @Test
+        public void testRecordedRows(@Param(name = "rowId") Integer rowId) {
+            Assert.assertNotNull(rowId);
+        }
+    }
+
+}
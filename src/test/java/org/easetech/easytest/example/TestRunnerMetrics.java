@@ -0,0 +1,158 @@
+package org.easetech.easytest.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.runner.RunnerMetrics;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.Filter;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing the {@link RunnerMetrics} a {@link SpringTestRunner} registers as an MBean while it
+ * runs a test class.
+ *
+ */
+public class TestRunnerMetrics {
+
+    @Test
+    public void testMetricsAreLiveWhileTheClassRuns() throws Exception {
+        MeasuredRows.snapshots.clear();
+        Result result = new JUnitCore().run(MeasuredRows.class);
+        Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        Assert.assertEquals(5, MeasuredRows.snapshots.size());
+        for (int row = 0; row < 5; row++) {
+            Object[] snapshot = MeasuredRows.snapshots.get(row);
+            Assert.assertEquals(Long.valueOf(row), snapshot[0]);
+            Assert.assertEquals(Long.valueOf(5 - row), snapshot[1]);
+            Assert.assertTrue(((Double) snapshot[2]).doubleValue() > 0);
+            Assert.assertTrue(((Double) snapshot[3]).doubleValue() > 0);
+            Assert.assertTrue(((Double) snapshot[3]).doubleValue() >= ((Double) snapshot[4]).doubleValue());
+        }
+        Assert.assertTrue(mbeans(MeasuredRows.class).isEmpty());
+    }
+
+    @Test
+    public void testMetricsAreUnregisteredWhenNoChildRuns() throws Exception {
+        Result result = new JUnitCore().run(IgnoredRows.class);
+        Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        Assert.assertEquals(0, result.getRunCount());
+        Assert.assertTrue(mbeans(IgnoredRows.class).isEmpty());
+
+        // no test remains once filtered, which JUnit reports as a failure without running the class
+        MeasuredRows.snapshots.clear();
+        new JUnitCore().run(Request.aClass(MeasuredRows.class).filterWith(new Filter() {
+
+            @Override
+            public boolean shouldRun(Description description) {
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return "no rows";
+            }
+        }));
+        Assert.assertTrue(MeasuredRows.snapshots.isEmpty());
+        Assert.assertTrue(mbeans(MeasuredRows.class).isEmpty());
+    }
+
+    @Test
+    public void testFilteredRowsAreNotPending() throws Exception {
+        FilteredRows.rowsPending.clear();
+        Result result = new JUnitCore().run(Request.aClass(FilteredRows.class).filterWith(new Filter() {
+
+            @Override
+            public boolean shouldRun(Description description) {
+                return !"testFilteredRows".equals(description.getMethodName());
+            }
+
+            @Override
+            public String describe() {
+                return "kept rows";
+            }
+        }));
+        Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        Assert.assertEquals("[3, 2, 1]", FilteredRows.rowsPending.toString());
+    }
+
+    static Set<ObjectName> mbeans(Class<?> testClass) throws Exception {
+        return ManagementFactory.getPlatformMBeanServer().queryNames(
+            new ObjectName("org.easetech.easytest:type=SpringTestRunner,testClass="
+                + ObjectName.quote(testClass.getName()) + ",*"), null);
+    }
+
+    /**
+     * The test class whose rows read the metrics of their own runner
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:runnerMetricsData.csv" })
+    public static class MeasuredRows {
+
+        static final List<Object[]> snapshots = new ArrayList<Object[]>();
+
+        @Test
+        public void testMeasuredRows(@Param(name = "rowId") Integer rowId) throws Exception {
+            Set<ObjectName> names = mbeans(MeasuredRows.class);
+            Assert.assertEquals(1, names.size());
+            ObjectName name = names.iterator().next();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Assert.assertEquals(MeasuredRows.class.getName(), server.getAttribute(name, "TestClassName"));
+            snapshots.add(new Object[] { server.getAttribute(name, "RowsExecuted"),
+                server.getAttribute(name, "RowsPending"), server.getAttribute(name, "DataLoadTime"),
+                server.getAttribute(name, "CreateTestTime"), server.getAttribute(name, "PrepareTestInstanceTime") });
+        }
+    }
+
+    /**
+     * The test class whose second test method is filtered out
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:filteredMetricsData.csv" }, writeData = false)
+    public static class FilteredRows {
+
+        static final List<Object> rowsPending = new ArrayList<Object>();
+
+        @Test
+        public void testKeptRows(@Param(name = "rowId") Integer rowId) throws Exception {
+            ObjectName name = mbeans(FilteredRows.class).iterator().next();
+            rowsPending.add(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "RowsPending"));
+        }
+
+        @Test
+        public void testFilteredRows(@Param(name = "rowId") Integer rowId) {
+            Assert.fail("The row should be filtered out");
+        }
+    }
+
+    /**
+     * The test class whose only test method is ignored, so that JUnit runs none of its class level callbacks
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:runnerMetricsData.csv" })
+    public static class IgnoredRows {
+
+        @Test
+        @Ignore
+        public void testMeasuredRows(@Param(name = "rowId") Integer rowId) {
+            Assert.fail("The row should be ignored");
+        }
+    }
+
+}
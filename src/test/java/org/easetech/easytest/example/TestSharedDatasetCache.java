@@ -0,0 +1,214 @@
+package org.easetech.easytest.example;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.io.ClasspathResource;
+import org.easetech.easytest.io.FileSystemResource;
+import org.easetech.easytest.io.Resource;
+import org.easetech.easytest.loader.CSVDataLoader;
+import org.easetech.easytest.loader.Loader;
+import org.easetech.easytest.loader.LoaderType;
+import org.easetech.easytest.loader.SharedDatasetCache;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing how the {@link SharedDatasetCache} shares and evicts the data of the test data files,
+ * and how the test classes reading the same file share a single parse of it.
+ * 
+ */
+public class TestSharedDatasetCache {
+
+    @Rule
+    public TemporaryFolder dataDirectory = new TemporaryFolder();
+
+    private final Loader loader = new CSVDataLoader();
+
+    @Test
+    public void testCachedDataIsSharedAndReadOnly() throws IOException {
+        SharedDatasetCache cache = new SharedDatasetCache(100);
+        Resource resource = newDataFile("shared.csv", 2);
+        Assert.assertNull(cache.get(loader, resource));
+        Map<String, List<Map<String, Object>>> data = cache.put(loader, resource, loader.loadData(resource));
+        Assert.assertSame(data, cache.get(loader, resource));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(4, cache.getWeight());
+        try {
+            data.get("testShared").get(0).put("itemId", "changed");
+            Assert.fail("The cached rows must be read-only");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDataIsEvicted() throws IOException {
+        SharedDatasetCache cache = new SharedDatasetCache(10);
+        Resource first = newDataFile("first.csv", 2);
+        Resource second = newDataFile("second.csv", 2);
+        Resource third = newDataFile("third.csv", 2);
+        cache.put(loader, first, loader.loadData(first));
+        cache.put(loader, second, loader.loadData(second));
+        Assert.assertNotNull(cache.get(loader, first));
+        cache.put(loader, third, loader.loadData(third));
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertNotNull(cache.get(loader, first));
+        Assert.assertNull(cache.get(loader, second));
+        Assert.assertNotNull(cache.get(loader, third));
+    }
+
+    @Test
+    public void testDataLargerThanTheCacheIsNotCached() throws IOException {
+        SharedDatasetCache cache = new SharedDatasetCache(3);
+        Resource resource = newDataFile("large.csv", 2);
+        cache.put(loader, resource, loader.loadData(resource));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testModifiedFileIsLoadedAgain() throws IOException {
+        SharedDatasetCache cache = new SharedDatasetCache(100);
+        Resource resource = newDataFile("modified.csv", 2);
+        cache.put(loader, resource, loader.loadData(resource));
+        newDataFile("modified.csv", 3);
+        Assert.assertNull(cache.get(loader, resource));
+    }
+
+    @Test
+    public void testTestClassesShareTheParsedFile() {
+        String cacheSize = SpringSystemProperties.SHARED_DATASET_CACHE_SIZE.getValue();
+        System.setProperty(cacheSize, "1000");
+        try {
+            SharedDatasetCache cache = SharedDatasetCache.getInstance();
+            cache.clear();
+            CountingCSVDataLoader.parsed.set(0);
+            long hits = cache.getHitCount();
+
+            assertSuccessful(new JUnitCore().run(FirstReader.class, SecondReader.class));
+            Assert.assertEquals("The file is parsed by the first class only", 1, CountingCSVDataLoader.parsed.get());
+            Assert.assertEquals(hits + 1, cache.getHitCount());
+
+            // the rows handed out by the cache are read-only, the output is written back without changing them
+            assertSuccessful(new JUnitCore().run(Writer.class));
+            Assert.assertEquals(1, CountingCSVDataLoader.parsed.get());
+            Assert.assertEquals(hits + 2, cache.getHitCount());
+            Map<String, List<Map<String, Object>>> cached = cache.get(new CountingCSVDataLoader(),
+                new ClasspathResource("sharedDatasetData.csv"));
+            Assert.assertNull("The file written back is no longer cached", cached);
+
+            // the data written back is read again, exactly as without the cache
+            assertSuccessful(new JUnitCore().run(FirstReader.class));
+            Assert.assertEquals(2, CountingCSVDataLoader.parsed.get());
+            cached = cache.get(new CountingCSVDataLoader(), new ClasspathResource("sharedDatasetData.csv"));
+            List<Map<String, Object>> rows = cached.get("testSharedRows");
+            Assert.assertEquals(3, rows.size());
+            for (Map<String, Object> row : rows) {
+                Assert.assertTrue(String.valueOf(row.get("ActualResult")).contains("itemId=" + row.get("itemId")));
+            }
+            try {
+                rows.get(0).put("itemType", "changed");
+                Assert.fail("The cached rows must be read-only");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+        } finally {
+            System.clearProperty(cacheSize);
+        }
+    }
+
+    private static void assertSuccessful(Result result) {
+        Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        Assert.assertTrue(result.getRunCount() > 0);
+    }
+
+    private Resource newDataFile(String name, int rows) throws IOException {
+        File file = new File(dataDirectory.getRoot(), name);
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write("testShared,itemId,itemType\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write("," + i + ",book\n");
+            }
+        } finally {
+            writer.close();
+        }
+        return new FileSystemResource(file.getPath());
+    }
+
+    /**
+     * A CSV loader counting the files it parses
+     */
+    public static class CountingCSVDataLoader extends CSVDataLoader {
+
+        static final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+            parsed.incrementAndGet();
+            return super.loadData(resource);
+        }
+    }
+
+    /**
+     * The first test class reading the shared file
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:sharedDatasetData.csv" }, loaderType = LoaderType.CUSTOM, loader = CountingCSVDataLoader.class, writeData = false)
+    public static class FirstReader {
+
+        @Test
+        public void testSharedRows(@Param(name = "itemId") String itemId, @Param(name = "itemType") String itemType) {
+            Assert.assertNotNull(itemId);
+            Assert.assertNotNull(itemType);
+        }
+    }
+
+    /**
+     * The second test class reading the shared file
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:sharedDatasetData.csv" }, loaderType = LoaderType.CUSTOM, loader = CountingCSVDataLoader.class, writeData = false)
+    public static class SecondReader {
+
+        @Test
+        public void testSharedRows(@Param(name = "itemId") String itemId, @Param(name = "itemType") String itemType) {
+            Assert.assertNotNull(itemId);
+            Assert.assertNotNull(itemType);
+        }
+    }
+
+    /**
+     * A test class writing its output back to the shared file
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:sharedDatasetData.csv" }, loaderType = LoaderType.CUSTOM, loader = CountingCSVDataLoader.class)
+    public static class Writer {
+
+        @Test
+        public Item testSharedRows(@Param(name = "itemId") String itemId, @Param(name = "itemType") String itemType) {
+            Item item = new Item();
+            item.setItemId(itemId);
+            item.setItemType(itemType);
+            return item;
+        }
+    }
+
+}
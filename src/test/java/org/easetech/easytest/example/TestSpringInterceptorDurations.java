@@ -0,0 +1,160 @@
+package org.easetech.easytest.example;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import org.easetech.easytest.annotation.Intercept;
+import org.easetech.easytest.internal.SystemProperties;
+import org.easetech.easytest.interceptor.DefaultMethodIntercepter;
+import org.easetech.easytest.interceptor.InternalSpringInterceptor;
+import org.easetech.easytest.reports.data.DurationHistogram;
+import org.easetech.easytest.reports.data.HistogramDurationObserver;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing how the durations of the Spring managed beans intercepted with
+ * {@link org.easetech.easytest.annotation.Intercept} are measured by the {@link InternalSpringInterceptor}.
+ *
+ */
+public class TestSpringInterceptorDurations {
+
+    @Test
+    public void testDurationsAreRecorded() {
+        HistogramDurationObserver durationObserver = new HistogramDurationObserver();
+        ItemService itemService = proxy(new RealItemService(), null, durationObserver);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("BOOK", itemService.findItem(null, new ItemId(Long.valueOf(i))).getItemType());
+        }
+        DurationHistogram histogram = durationObserver.getHistograms().get(
+            RealItemService.class.getName() + ".findItem");
+        Assert.assertEquals(10, histogram.getCount());
+        Assert.assertTrue(histogram.getMax() > 0);
+    }
+
+    @Test
+    public void testNothingIsPrintedWithoutExpectedRunTime() {
+        HistogramDurationObserver durationObserver = new HistogramDurationObserver();
+        ItemService itemService = proxy(new RealItemService(), null, durationObserver);
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        try {
+            itemService.findItem(null, new ItemId(Long.valueOf(1)));
+        } finally {
+            System.setOut(out);
+        }
+        // the service prints its own calls, but the time taken by the call is not printed
+        Assert.assertFalse(printed.toString(), printed.toString().contains(" took "));
+        Assert.assertEquals(1, durationObserver.getHistograms().get(RealItemService.class.getName() + ".findItem")
+            .getCount());
+    }
+
+    @Test
+    public void testExpectedRunTimeIsChecked() {
+        HistogramDurationObserver durationObserver = new HistogramDurationObserver();
+        ItemService itemService = proxy(new RealItemService() {
+
+            @Override
+            public Item findItem(LibraryId libraryId, ItemId itemId) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findItem(libraryId, itemId);
+            }
+        }, Long.valueOf(1), durationObserver);
+        try {
+            itemService.findItem(null, new ItemId(Long.valueOf(1)));
+            Assert.fail("Expected the call to take longer than the expected run time");
+        } catch (AssertionError e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Total time taken by method findItem"));
+        }
+        Assert.assertEquals(1, durationObserver.getHistograms().size());
+    }
+
+    @Test
+    public void testRunnerReportsInterceptedBeanDurations() throws IOException {
+        File reportFolder = new File(System.getProperty("java.io.tmpdir"), "easytest-intercepted-"
+            + System.nanoTime());
+        Result result;
+        try {
+            System.setProperty(SystemProperties.GENERATE_REPORT.getValue(), "true");
+            System.setProperty(SystemProperties.REPORT_LOCATION.getValue(), "file:" + reportFolder.getPath());
+            result = new JUnitCore().run(InterceptedBean.class);
+        } finally {
+            System.clearProperty(SystemProperties.GENERATE_REPORT.getValue());
+            System.clearProperty(SystemProperties.REPORT_LOCATION.getValue());
+        }
+        Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        File[] reports = reportFolder.listFiles();
+        Assert.assertNotNull(reports);
+        File percentiles = null;
+        for (File report : reports) {
+            if (report.getName().startsWith(InterceptedBean.class.getName() + "_percentiles_")) {
+                percentiles = report;
+            }
+        }
+        Assert.assertNotNull(percentiles);
+        BufferedReader reader = new BufferedReader(new FileReader(percentiles));
+        try {
+            Assert.assertTrue(reader.readLine().startsWith("Method,Calls"));
+            Assert.assertTrue(reader.readLine().startsWith(RealItemService.class.getName() + ".findItem,3,"));
+            Assert.assertNull(reader.readLine());
+        } finally {
+            reader.close();
+            for (File report : reports) {
+                report.delete();
+            }
+            reportFolder.delete();
+        }
+    }
+
+    private static ItemService proxy(ItemService target, Long expectedRunTime,
+        HistogramDurationObserver durationObserver) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTarget(target);
+        factory.addInterface(ItemService.class);
+        InternalSpringInterceptor internalIntercepter = new InternalSpringInterceptor();
+        internalIntercepter.setUserIntercepter(new DefaultMethodIntercepter());
+        internalIntercepter.setTargetInstance(target);
+        internalIntercepter.setExpectedRunTime(expectedRunTime);
+        internalIntercepter.setDurationObserver(durationObserver);
+        factory.addAdvice(internalIntercepter);
+        return (ItemService) factory.getProxy();
+    }
+
+    /**
+     * The test class whose Spring managed bean is intercepted by the runner
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:interceptContext.xml" })
+    public static class InterceptedBean {
+
+        @Autowired
+        @Intercept
+        private ItemService itemService;
+
+        @Test
+        public void testInterceptedBean() {
+            Assert.assertTrue(AopUtils.isAopProxy(itemService));
+            for (int i = 0; i < 3; i++) {
+                // the item is found by the bean the runner set as the target of the interceptor
+                Assert.assertEquals("BOOK", itemService.findItem(null, new ItemId(Long.valueOf(i))).getItemType());
+            }
+        }
+    }
+
+}
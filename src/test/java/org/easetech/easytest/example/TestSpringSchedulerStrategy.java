@@ -0,0 +1,30 @@
+package org.easetech.easytest.example;
+
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.strategy.SpringSchedulerStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * An example test class showing that a malformed scheduler system property is reported by its name.
+ *
+ */
+public class TestSpringSchedulerStrategy {
+
+    @Test
+    public void testMalformedPropertiesAreReported() {
+        for (SpringSystemProperties property : new SpringSystemProperties[] {
+            SpringSystemProperties.FORK_JOIN_PARALLELISM, SpringSystemProperties.VIRTUAL_THREAD_CONCURRENCY }) {
+            System.setProperty(property.getValue(), "four");
+            try {
+                SpringSchedulerStrategy.getScheduler(TestSpringSchedulerStrategy.class);
+                Assert.fail("Expected the malformed property " + property.getValue() + " to be reported");
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains(property.getValue()));
+            } finally {
+                System.clearProperty(property.getValue());
+            }
+        }
+    }
+
+}
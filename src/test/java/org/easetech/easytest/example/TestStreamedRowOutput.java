@@ -0,0 +1,133 @@
+package org.easetech.easytest.example;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.ForkJoinParallel;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.annotation.StreamOutputData;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.easetech.easytest.util.WritableDataAccumulator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose returned values are spilled to disk as soon as every row completes, and written back to
+ * the data file once all the rows have run. The values read back from the spill file keep their type when they are a
+ * String, Double, Integer, Long or Float, and are otherwise written as their String representation.
+ *
+ */
+public class TestStreamedRowOutput {
+
+    @Test
+    public void testEveryRowOutputIsWrittenBackInOrder() throws Exception {
+        StreamedRows.executedRows.set(0);
+        Result result = new JUnitCore().run(StreamedRows.class);
+        Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        Assert.assertEquals(20, StreamedRows.executedRows.get());
+
+        File dataFile = new File(TestStreamedRowOutput.class.getResource("/streamedOutputData.csv").toURI());
+        BufferedReader reader = new BufferedReader(new FileReader(dataFile));
+        try {
+            String[] header = reader.readLine().split(",");
+            Map<String, Integer> columns = new HashMap<String, Integer>();
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i], Integer.valueOf(i));
+            }
+            Assert.assertTrue(columns.containsKey("ActualResult"));
+            int expectedRowId = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // the output column holds the item as a quoted String, which contains commas itself
+                String[] values = line.split(",", columns.get("ActualResult") + 1);
+                String rowId = values[columns.get("rowId")];
+                Assert.assertEquals("Order of the rows", String.valueOf(++expectedRowId), rowId);
+                Item item = new Item();
+                item.setItemId(rowId);
+                item.setItemType(values[columns.get("itemType")]);
+                Assert.assertTrue("Output of the row " + rowId, values[columns.get("ActualResult")].startsWith("\""
+                    + item.toString() + "\""));
+            }
+            Assert.assertEquals(20, expectedRowId);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testSpilledValuesKeepTheirType() {
+        WritableDataAccumulator writableData = new WritableDataAccumulator(null, true);
+        try {
+            List<Map<String, Object>> inputRows = new ArrayList<Map<String, Object>>();
+            for (int i = 0; i < 4; i++) {
+                Map<String, Object> inputRow = new LinkedHashMap<String, Object>();
+                inputRow.put("rowId", String.valueOf(i));
+                inputRows.add(inputRow);
+            }
+            writableData.put("testStreamedOutput", inputRows);
+
+            // the rows complete out of order, as they do when running in parallel
+            for (int i = inputRows.size() - 1; i >= 0; i--) {
+                Map<String, Object> outputRow = new LinkedHashMap<String, Object>(inputRows.get(i));
+                outputRow.put("string", "row-" + i);
+                outputRow.put("double", Double.valueOf(i + 0.5d));
+                outputRow.put("integer", Integer.valueOf(i));
+                outputRow.put("long", Long.valueOf(i + 10000000000L));
+                outputRow.put("float", Float.valueOf(i + 0.25f));
+                Item item = new Item();
+                item.setItemId(String.valueOf(i));
+                outputRow.put("item", item);
+                Assert.assertTrue(writableData.addOutput("testStreamedOutput", inputRows.get(i), outputRow));
+            }
+
+            List<Map<String, Object>> rows = writableData.get("testStreamedOutput");
+            Assert.assertEquals(inputRows.size(), rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Map<String, Object> row = rows.get(i);
+                Assert.assertEquals(String.valueOf(i), row.get("rowId"));
+                Assert.assertEquals("row-" + i, row.get("string"));
+                Assert.assertEquals(Double.valueOf(i + 0.5d), row.get("double"));
+                Assert.assertEquals(Integer.valueOf(i), row.get("integer"));
+                Assert.assertEquals(Long.valueOf(i + 10000000000L), row.get("long"));
+                Assert.assertEquals(Float.valueOf(i + 0.25f), row.get("float"));
+                Assert.assertEquals("Item [description=null, itemType=null, itemId=" + i + "]", row.get("item"));
+            }
+        } finally {
+            writableData.release();
+        }
+    }
+
+    /**
+     * The test class whose rows run in parallel and return values that are spilled to disk
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:streamedOutputData.csv" })
+    @ForkJoinParallel(parallelism = 4)
+    @StreamOutputData
+    public static class StreamedRows {
+
+        static final AtomicInteger executedRows = new AtomicInteger();
+
+        @Test
+        public Item testStreamedOutput(@Param(name = "rowId") Integer rowId, @Param(name = "itemType") String itemType) {
+            executedRows.incrementAndGet();
+            Item item = new Item();
+            item.setItemId(String.valueOf(rowId));
+            item.setItemType(itemType);
+            return item;
+        }
+    }
+
+}
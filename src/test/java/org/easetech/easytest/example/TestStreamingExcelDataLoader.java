@@ -0,0 +1,53 @@
+package org.easetech.easytest.example;
+
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.io.ClasspathResource;
+import org.easetech.easytest.loader.ExcelDataLoader;
+import org.easetech.easytest.loader.LoaderType;
+import org.easetech.easytest.loader.StreamingExcelDataLoader;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose test data is read from an Excel file as a stream of events.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:org/easetech/data/testExcelData.xls" }, loaderType = LoaderType.CUSTOM, loader = StreamingExcelDataLoader.class, writeData = false)
+public class TestStreamingExcelDataLoader {
+
+    @Test
+    public void getExcelTestData(@Param(name = "libraryId") Float libraryId, @Param(name = "itemId") Float itemId) {
+        Assert.assertNotNull(libraryId);
+        Assert.assertNotNull(itemId);
+    }
+
+    @Test
+    public void testSameDataAsExcelDataLoader() {
+        for (String path : new String[] { "org/easetech/data/testExcelData.xls", "org/easetech/data/test-update.xls",
+            "org/easetech/data/test-combined.xls" }) {
+            ClasspathResource resource = new ClasspathResource(path);
+            Assert.assertEquals(new ExcelDataLoader().loadData(resource),
+                new StreamingExcelDataLoader().loadData(resource));
+        }
+    }
+
+    @Test
+    public void testMethodRowsOnly() {
+        ClasspathResource resource = new ClasspathResource("org/easetech/data/testExcelData.xls");
+        StreamingExcelDataLoader loader = new StreamingExcelDataLoader();
+        Map<String, List<Map<String, Object>>> data = loader.loadData(resource);
+        Assert.assertTrue(data.size() > 1);
+        for (String methodName : data.keySet()) {
+            Assert.assertEquals(data.get(methodName), loader.loadMethodData(resource, methodName));
+        }
+        Assert.assertNull(loader.loadMethodData(resource, "testUnknownMethod"));
+    }
+}
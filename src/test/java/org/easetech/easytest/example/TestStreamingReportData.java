@@ -0,0 +1,177 @@
+package org.easetech.easytest.example;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.internal.SpringSystemProperties;
+import org.easetech.easytest.reports.data.ReportTotalsBean;
+import org.easetech.easytest.reports.data.StreamingReportDataContainer;
+import org.easetech.easytest.reports.data.TestMethodDuration;
+import org.easetech.easytest.reports.data.TestResultBean;
+import org.easetech.easytest.reports.impl.ReportBuilder;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class showing how the report data of the rows is appended to a file as the rows complete, and
+ * read back from that file to render the reports, when the report data is streamed.
+ *
+ */
+public class TestStreamingReportData {
+
+    @Test
+    public void testRowsAreReadBackFromTheFile() {
+        StreamingReportDataContainer container = new StreamingReportDataContainer(TestStreamingReportData.class, null);
+        try {
+            TestResultBean first = new TestResultBean("getItems", new Date(1000));
+            TestResultBean second = new TestResultBean("findItem", new Date(2000));
+            TestResultBean third = new TestResultBean("getItems", new Date(3000));
+            container.addTestResult(first);
+            container.addTestResult(second);
+            container.addTestResult(third);
+            Assert.assertTrue(container.getTestResults().isEmpty());
+
+            first.addInput("itemType", "BOOK\tDVD");
+            first.addInput("libraryId", null);
+            first.setOutput("line 1\nline 2 \\ end");
+            first.setPassed(Boolean.TRUE);
+            first.addTestItemDurationBean(new TestMethodDuration("getItems", 10, 2000010));
+            container.rowCompleted(first);
+            Assert.assertNull(first.getOutput());
+            Assert.assertTrue(first.getTestItemDurations().isEmpty());
+            second.setException(Boolean.TRUE);
+            second.setExceptionResult("java.lang.IllegalStateException: no item");
+            container.rowCompleted(second);
+            third.setPassed(Boolean.FALSE);
+            third.setResult("");
+            container.rowCompleted(third);
+
+            List<TestResultBean> testResults = container.getTestResults();
+            Assert.assertEquals(3, testResults.size());
+            TestResultBean read = testResults.get(0);
+            Assert.assertEquals("getItems", read.getMethod());
+            Assert.assertEquals(new Date(1000), read.getDate());
+            Assert.assertEquals("BOOK\tDVD", read.getInput().get("itemType"));
+            Assert.assertTrue(read.getInput().containsKey("libraryId"));
+            Assert.assertNull(read.getInput().get("libraryId"));
+            Assert.assertEquals("line 1\nline 2 \\ end", read.getOutput());
+            Assert.assertEquals(Boolean.TRUE, read.getPassed());
+            Assert.assertNull(read.getException());
+            Assert.assertEquals(2, read.getTestItemDurationsMap().get("getItems").getMsDifference());
+            Assert.assertEquals("", testResults.get(2).getResultString());
+
+            Map<String, List<TestResultBean>> methodTestResults = container.getMethodTestResults();
+            Iterator<String> methods = methodTestResults.keySet().iterator();
+            Assert.assertEquals("getItems", methods.next());
+            Assert.assertEquals("findItem", methods.next());
+            ReportBuilder reportBuilder = new ReportBuilder(container);
+            ReportTotalsBean getItems = reportBuilder.createTestMethodSummary(methodTestResults.get("getItems"));
+            Assert.assertEquals(Long.valueOf(1), getItems.getPassed());
+            Assert.assertEquals(Long.valueOf(1), getItems.getFailed());
+            ReportTotalsBean findItem = reportBuilder.createTestMethodSummary(methodTestResults.get("findItem"));
+            Assert.assertEquals(Long.valueOf(1), findItem.getException());
+            Assert.assertEquals(1, reportBuilder.getMethodDurationBeans(methodTestResults).get("getItems").getCount());
+        } finally {
+            container.release();
+        }
+    }
+
+    @Test
+    public void testRowsAreReadByIndex() {
+        File spillDirectory = new File(System.getProperty("java.io.tmpdir"), "easytest-indexed-reports-"
+            + System.nanoTime());
+        Assert.assertTrue(spillDirectory.mkdirs());
+        StreamingReportDataContainer container = new StreamingReportDataContainer(TestStreamingReportData.class,
+            spillDirectory);
+        try {
+            for (int row = 0; row < 50; row++) {
+                TestResultBean testResult = new TestResultBean(row % 2 == 0 ? "getItems" : "findItem", new Date(row));
+                container.addTestResult(testResult);
+                container.rowCompleted(testResult);
+            }
+            List<TestResultBean> testResults = container.getTestResults();
+            for (int row = 0; row < 50; row++) {
+                Assert.assertEquals(new Date(row), testResults.get(row).getDate());
+            }
+            Assert.assertEquals(new Date(7), testResults.get(7).getDate());
+            Assert.assertEquals(new Date(3), testResults.get(3).getDate());
+            List<TestResultBean> findItem = container.getMethodTestResults().get("findItem");
+            Assert.assertEquals(25, findItem.size());
+            Assert.assertEquals(new Date(49), findItem.get(24).getDate());
+            Assert.assertEquals(new Date(1), findItem.get(0).getDate());
+
+            // an iteration that is not read to its end is closed by the release
+            Iterator<TestResultBean> abandoned = container.getTestResults().iterator();
+            Assert.assertEquals(new Date(0), abandoned.next().getDate());
+        } finally {
+            container.release();
+        }
+        Assert.assertEquals(0, spillDirectory.list().length);
+        spillDirectory.delete();
+        try {
+            container.getTestResults().iterator();
+            Assert.fail("The report data should be released");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRowsAreStreamedWhileTheClassRuns() throws Exception {
+        File spillDirectory = new File(System.getProperty("java.io.tmpdir"), "easytest-streamed-reports-"
+            + System.nanoTime());
+        Assert.assertTrue(spillDirectory.mkdirs());
+        StreamedRows.spillDirectory = spillDirectory;
+        StreamedRows.reportFileSeen.clear();
+        try {
+            System.setProperty(SpringSystemProperties.STREAM_REPORT_DATA.getValue(), "true");
+            System.setProperty(SpringSystemProperties.OUTPUT_SPILL_DIRECTORY.getValue(), spillDirectory.getPath());
+            Result result = new JUnitCore().run(StreamedRows.class);
+            Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        } finally {
+            System.clearProperty(SpringSystemProperties.STREAM_REPORT_DATA.getValue());
+            System.clearProperty(SpringSystemProperties.OUTPUT_SPILL_DIRECTORY.getValue());
+        }
+        Assert.assertEquals(Arrays.asList(Boolean.FALSE, Boolean.TRUE, Boolean.TRUE, Boolean.TRUE),
+            StreamedRows.reportFileSeen);
+        Assert.assertEquals(0, spillDirectory.list().length);
+        spillDirectory.delete();
+    }
+
+    /**
+     * The test class whose report data is streamed
+     */
+    @RunWith(SpringTestRunner.class)
+    @ContextConfiguration(locations = { "classpath:test-context.xml" })
+    @DataLoader(filePaths = { "classpath:streamingReportData.csv" })
+    public static class StreamedRows {
+
+        static File spillDirectory;
+
+        static final List<Boolean> reportFileSeen = new ArrayList<Boolean>();
+
+        @Test
+        public void testStreamedRows(@Param(name = "rowId") Integer rowId) {
+            String[] reportFiles = spillDirectory.list(new FilenameFilter() {
+
+                public boolean accept(File dir, String name) {
+                    return name.endsWith(".report");
+                }
+            });
+            reportFileSeen.add(Boolean.valueOf(reportFiles.length > 0));
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.easetech.easytest.example;
+
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.io.ClasspathResource;
+import org.easetech.easytest.loader.LoaderType;
+import org.easetech.easytest.loader.StreamingXMLDataLoader;
+import org.easetech.easytest.loader.XMLDataLoader;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose test data is read from an XML file as a stream.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:streamingXmlData.xml" }, loaderType = LoaderType.CUSTOM, loader = StreamingXMLDataLoader.class, writeData = false)
+public class TestStreamingXMLDataLoader {
+
+    @Test
+    public void getItemsFromStreamedXML(@Param(name = "libraryId") Long libraryId, @Param(name = "itemId") Long itemId,
+        @Param(name = "itemType") String itemType) {
+        Assert.assertNotNull(libraryId);
+        Assert.assertNotNull(itemId);
+        Assert.assertNotNull(itemType);
+    }
+
+    @Test
+    public void testDefaultAndRecordEntries() {
+        Map<String, List<Map<String, Object>>> data = new StreamingXMLDataLoader().loadData(new ClasspathResource(
+            "streamingXmlData.xml"));
+        List<Map<String, Object>> rows = data.get("getItemsFromStreamedXML");
+        Assert.assertEquals(2, rows.size());
+        Assert.assertEquals("91475", rows.get(0).get("libraryId"));
+        Assert.assertEquals("1", rows.get(0).get("recordPosition"));
+        Assert.assertFalse(rows.get(0).containsKey("ActualResult"));
+        Assert.assertEquals("1", rows.get(1).get("libraryId"));
+        Assert.assertEquals("journal", rows.get(1).get("itemType"));
+    }
+
+    @Test
+    public void testSameDataAsXMLDataLoader() {
+        for (String path : new String[] { "input-data.xml", "input-data-mod.xml", "input-data-mod-again.xml" }) {
+            ClasspathResource resource = new ClasspathResource(path);
+            Assert.assertEquals(path, new XMLDataLoader().loadData(resource),
+                new StreamingXMLDataLoader().loadData(resource));
+        }
+    }
+
+    @Test
+    public void testMethodRowsOnly() {
+        ClasspathResource resource = new ClasspathResource("streamingXmlData.xml");
+        StreamingXMLDataLoader loader = new StreamingXMLDataLoader();
+        Map<String, List<Map<String, Object>>> data = loader.loadData(resource);
+        Assert.assertTrue(data.size() > 1);
+        for (String methodName : data.keySet()) {
+            Assert.assertEquals(data.get(methodName), loader.loadMethodData(resource, methodName));
+        }
+        Assert.assertNull(loader.loadMethodData(resource, "testUnknownMethod"));
+    }
+}
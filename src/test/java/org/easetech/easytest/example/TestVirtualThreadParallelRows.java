@@ -0,0 +1,58 @@
+package org.easetech.easytest.example;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.annotation.VirtualThreadParallel;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose blocking data rows are each run on their own virtual thread, with at most three rows
+ * running at the same time.
+ * 
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:test-context.xml" })
+@DataLoader(filePaths = { "classpath:parallelRowsData.csv" })
+@VirtualThreadParallel(maxConcurrency = 3)
+public class TestVirtualThreadParallelRows {
+
+    private static final Set<Integer> executedRows = Collections.synchronizedSet(new HashSet<Integer>());
+
+    private static final AtomicInteger runningRows = new AtomicInteger();
+
+    private static final AtomicInteger maxRunningRows = new AtomicInteger();
+
+    @Test
+    public void testVirtualThreadRow(@Param(name = "rowId") Integer rowId, @Param(name = "itemType") String itemType)
+        throws InterruptedException {
+        int running = runningRows.incrementAndGet();
+        try {
+            int max = maxRunningRows.get();
+            while (running > max && !maxRunningRows.compareAndSet(max, running)) {
+                max = maxRunningRows.get();
+            }
+            System.out.println(Thread.currentThread() + " executing row " + rowId + " of type " + itemType);
+            // simulate a row waiting on I/O
+            Thread.sleep(20);
+            Assert.assertTrue("Row " + rowId + " executed twice", executedRows.add(rowId));
+        } finally {
+            runningRows.decrementAndGet();
+        }
+    }
+
+    @AfterClass
+    public static void allRowsExecuted() {
+        Assert.assertEquals(20, executedRows.size());
+        Assert.assertTrue("More than 3 rows ran at the same time", maxRunningRows.get() <= 3);
+    }
+
+}
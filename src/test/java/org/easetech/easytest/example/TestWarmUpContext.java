@@ -0,0 +1,80 @@
+package org.easetech.easytest.example;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.easetech.easytest.annotation.DataLoader;
+import org.easetech.easytest.annotation.Param;
+import org.easetech.easytest.annotation.WarmUpContext;
+import org.easetech.easytest.io.Resource;
+import org.easetech.easytest.loader.CSVDataLoader;
+import org.easetech.easytest.loader.LoaderType;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * An example test class whose Spring ApplicationContext is loaded in the background while its test data is loaded.
+ * The context is not shared with any other test class, and its data loader waits for the context to be loaded, so the
+ * test data can only be loaded if the context is loaded at the same time.
+ *
+ */
+@RunWith(SpringTestRunner.class)
+@ContextConfiguration(locations = { "classpath:warmUpContext.xml" })
+@DataLoader(filePaths = { "classpath:contextWarmUpData.csv" }, loaderType = LoaderType.CUSTOM, loader = TestWarmUpContext.ContextAwaitingDataLoader.class)
+@WarmUpContext
+public class TestWarmUpContext {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ContextProbe contextProbe;
+
+    @Test
+    public void testWarmedUpContext(@Param(name = "rowId") Integer rowId) {
+        Assert.assertNotNull(applicationContext);
+        Assert.assertNotNull(rowId);
+        Assert.assertTrue(ContextAwaitingDataLoader.contextLoadedDuringDataLoading);
+        Assert.assertTrue(contextProbe.creationThread,
+            contextProbe.creationThread.startsWith("easytest-context-warm-up-"));
+    }
+
+    /**
+     * A bean recording the thread that created it
+     */
+    public static class ContextProbe {
+
+        static final CountDownLatch created = new CountDownLatch(1);
+
+        final String creationThread = Thread.currentThread().getName();
+
+        public ContextProbe() {
+            created.countDown();
+        }
+    }
+
+    /**
+     * A {@link CSVDataLoader} that waits for the ApplicationContext to be loaded before loading the data
+     */
+    public static class ContextAwaitingDataLoader extends CSVDataLoader {
+
+        static volatile boolean contextLoadedDuringDataLoading;
+
+        @Override
+        public Map<String, List<Map<String, Object>>> loadData(Resource resource) {
+            try {
+                contextLoadedDuringDataLoading = ContextProbe.created.await(60, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.loadData(resource);
+        }
+    }
+
+}
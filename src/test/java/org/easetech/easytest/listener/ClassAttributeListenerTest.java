@@ -0,0 +1,69 @@
+package org.easetech.easytest.listener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.easetech.easytest.runner.SpringTestRunner;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+
+/**
+ * Checks that a listener of a test class run serially sees, in its test method callbacks, the attributes it set on the
+ * {@link TestContext} in its beforeTestClass callback.
+ */
+@RunWith(SpringTestRunner.class)
+@TestExecutionListeners(listeners = { ClassAttributeListenerTest.ClassAttributeListener.class,
+    DependencyInjectionTestExecutionListener.class })
+@ContextConfiguration("/test-context.xml")
+public class ClassAttributeListenerTest {
+
+    private static final String CLASS_ATTRIBUTE = "classAttribute";
+
+    private static final AtomicInteger methodsSeeingAttribute = new AtomicInteger();
+
+    @Test
+    public void firstTest() {
+        // the listener does the checking
+    }
+
+    @Test
+    public void secondTest() {
+        // the listener does the checking
+    }
+
+    @AfterClass
+    public static void verifyAttributeSeen() {
+        Assert.assertEquals(4, methodsSeeingAttribute.get());
+    }
+
+    /**
+     * Sets an attribute before the test class and looks for it before and after every test method
+     */
+    public static class ClassAttributeListener extends AbstractTestExecutionListener {
+
+        @Override
+        public void beforeTestClass(TestContext testContext) {
+            testContext.setAttribute(CLASS_ATTRIBUTE, Boolean.TRUE);
+        }
+
+        @Override
+        public void beforeTestMethod(TestContext testContext) {
+            if (testContext.hasAttribute(CLASS_ATTRIBUTE)) {
+                methodsSeeingAttribute.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void afterTestMethod(TestContext testContext) {
+            if (testContext.hasAttribute(CLASS_ATTRIBUTE)) {
+                methodsSeeingAttribute.incrementAndGet();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.easetech.easytest.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import org.easetech.easytest.io.ClasspathResource;
+import org.easetech.easytest.io.FileSystemResource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the {@link MappedCSVDataLoader} reads the same data as the {@link CSVDataLoader} whatever the size of the
+ * windows the file is mapped in, so that records, quoted fields, escaped quotes and line breaks straddle the window
+ * boundaries.
+ */
+public class MappedCSVDataLoaderTest {
+
+    private static final String DATA_FILE = "mappedCsvWindowData.csv";
+
+    @Test
+    public void testSameDataAsCSVDataLoaderWithTinyWindows() {
+        ClasspathResource resource = new ClasspathResource(DATA_FILE);
+        Map<String, List<Map<String, Object>>> expected = new CSVDataLoader().loadData(resource);
+        Assert.assertEquals(2, expected.size());
+        Assert.assertEquals(4, expected.get("testWindowRows").size());
+        for (long windowSize = 1; windowSize <= 64; windowSize++) {
+            MappedCSVDataLoader loader = new MappedCSVDataLoader(windowSize);
+            Assert.assertEquals("Window size " + windowSize, expected, loader.loadData(resource));
+            for (String methodName : expected.keySet()) {
+                Assert.assertEquals("Window size " + windowSize, expected.get(methodName),
+                    loader.loadMethodData(resource, methodName));
+            }
+        }
+    }
+
+    @Test
+    public void testByteOrderMarkWithTinyWindows() throws IOException {
+        ClasspathResource resource = new ClasspathResource(DATA_FILE);
+        File file = File.createTempFile("easytest-bom", ".csv");
+        try {
+            OutputStream out = new FileOutputStream(file);
+            InputStream in = resource.getInputStream();
+            try {
+                out.write(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF });
+                byte[] buffer = new byte[1024];
+                for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                in.close();
+                out.close();
+            }
+            Map<String, List<Map<String, Object>>> expected = new MappedCSVDataLoader().loadData(resource);
+            for (long windowSize = 1; windowSize <= 4; windowSize++) {
+                Assert.assertEquals("Window size " + windowSize, expected, new MappedCSVDataLoader(windowSize)
+                    .loadData(new FileSystemResource(file.getPath())));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindowSize() {
+        new MappedCSVDataLoader(0);
+    }
+
+}